@@ -0,0 +1,115 @@
+package com.contact.bench;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.contact.dao.PersonDAOImpl;
+import com.contact.model.Person;
+import com.contact.util.DatabaseConnection;
+
+/**
+ * Synthetic contacts and seeded databases shared by the benchmarks.
+ *
+ * Every dataset size gets its own database file under {@code target/jmh}, which is
+ * seeded once and reused by later runs. JMH runs each benchmark and parameter
+ * combination in a fresh fork, so pointing {@code contact.db.url} at the file before
+ * the first {@link DatabaseConnection} call is enough.
+ */
+public final class BenchmarkData {
+
+    private static final String[] LASTNAMES = {
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand",
+            "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David",
+            "Bertrand", "Roux", "Vincent", "Fournier", "Morel", "Girard", "Andre", "Mercier",
+            "Dupont", "Lambert", "Bonnet", "Francois", "Martinez", "Legrand", "Smith", "Johnson"
+    };
+    private static final String[] FIRSTNAMES = {
+            "Emma", "Louise", "Jade", "Alice", "Chloe", "Lina", "Rose", "Anna", "Mila", "Lea",
+            "Gabriel", "Leo", "Raphael", "Arthur", "Louis", "Jules", "Adam", "Lucas", "Hugo", "Noah",
+            "Tina", "Marc", "Paul", "Sarah", "Ines", "Nina", "Theo", "Tom", "Yanis", "Zoe"
+    };
+    private static final String[] DOMAINS = { "example.com", "mail.org", "contact.fr", "isen.fr" };
+    private static final int SEED_CHUNK = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds the i-th synthetic person. Names repeat across the dataset, while the
+     * (firstname, lastname) pair, phone number and email stay unique.
+     */
+    public static Person person(int i) {
+        String lastname = LASTNAMES[i % LASTNAMES.length];
+        String firstname = FIRSTNAMES[(i / LASTNAMES.length) % FIRSTNAMES.length] + (i / (LASTNAMES.length * FIRSTNAMES.length));
+        Person p = new Person(lastname, firstname, firstname.substring(0, 2) + lastname.substring(0, 2));
+        p.setPhoneNumber(String.format("06%08d", i));
+        p.setEmailAddress((firstname + "." + lastname + "@" + DOMAINS[i % DOMAINS.length]).toLowerCase());
+        p.setAddress(i + " rue de la Paix, Lille");
+        p.setBirthDate(LocalDate.of(1950, 1, 1).plusDays(i % 20_000));
+        return p;
+    }
+
+    public static List<Person> persons(int rows) {
+        List<Person> persons = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Person p = person(i);
+            p.setIdperson(i + 1);
+            persons.add(p);
+        }
+        return persons;
+    }
+
+    /**
+     * Points the application at the database for the given dataset size and seeds it
+     * with exactly that many persons if it does not hold them yet.
+     */
+    public static void useDatabase(int rows) throws SQLException {
+        File dir = new File("target/jmh");
+        dir.mkdirs();
+        System.setProperty("contact.db.url", "jdbc:sqlite:" + new File(dir, "contacts-" + rows + ".db").getPath());
+
+        if (count() == rows) return;
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DELETE FROM person");
+        }
+        PersonDAOImpl dao = new PersonDAOImpl();
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            List<Person> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(rows, from + SEED_CHUNK); i++) {
+                chunk.add(person(i));
+            }
+            dao.createPersons(chunk);
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    /**
+     * @return the id range [min, max] of the seeded persons
+     */
+    public static int[] idRange() throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT min(idperson), max(idperson) FROM person")) {
+            rs.next();
+            return new int[] { rs.getInt(1), rs.getInt(2) };
+        }
+    }
+
+    private static int count() throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM person")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
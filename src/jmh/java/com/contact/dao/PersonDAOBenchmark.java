@@ -0,0 +1,172 @@
+package com.contact.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.contact.bench.BenchmarkData;
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import com.contact.util.DatabaseConnection;
+
+/**
+ * Throughput and latency of the {@link PersonDAOImpl} queries against seeded databases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonDAOBenchmark {
+
+    private static final String MAP_SQL = "SELECT " + PersonRowMapper.COLUMNS
+            + " FROM person ORDER BY lastname, firstname, idperson LIMIT 1000";
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private PersonDAOImpl dao;
+    private int firstId;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkData.useDatabase(rows);
+        dao = new PersonDAOImpl();
+        firstId = BenchmarkData.idRange()[0];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.getInstance().shutdown();
+    }
+
+    @Benchmark
+    public Optional<Person> findById() throws SQLException {
+        return dao.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Person> findByPhone() throws SQLException {
+        return dao.findByPhone(String.format("06 %08d", ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public List<Person> findByPhoneSuffix() throws SQLException {
+        return dao.findByPhoneSuffix(String.format("%04d", ThreadLocalRandom.current().nextInt(10_000)), 100);
+    }
+
+    @Benchmark
+    public List<PersonSummary> findBirthdaysFirstPage() throws SQLException {
+        MonthDay from = MonthDay.of(1 + ThreadLocalRandom.current().nextInt(12), 1);
+        return dao.findBirthdaysBetween(from, from.withDayOfMonth(28), null, null, 100);
+    }
+
+    /** A refresh that catches up with the last ten changes, against reloading with findAll. */
+    @Benchmark
+    public ChangeSet findLastChanges() throws SQLException {
+        return dao.findChangedSince(Math.max(0, dao.getChangeVersion() - 10));
+    }
+
+    @Benchmark
+    public List<Person> findAll() throws SQLException {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole bh) throws SQLException {
+        try (Stream<Person> persons = dao.streamAll(500)) {
+            persons.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public List<Person> findFirstPage() throws SQLException {
+        return dao.findPage(null, null, null, 200);
+    }
+
+    @Benchmark
+    public List<PersonSummary> findFirstSummaryPage() throws SQLException {
+        return dao.findSummaryPage(null, null, null, 200);
+    }
+
+    @Benchmark
+    public List<Person> searchPersonByName(SearchTerm search) throws SQLException {
+        return dao.searchPersonByName(search.term);
+    }
+
+    @Benchmark
+    public void createAndDelete() throws SQLException {
+        Person person = BenchmarkData.person(rows + created++);
+        dao.createPerson(person);
+        dao.deletePerson(person.getIdperson());
+    }
+
+    @Benchmark
+    public void update() throws SQLException {
+        int offset = ThreadLocalRandom.current().nextInt(rows);
+        Person person = BenchmarkData.person(offset);
+        person.setIdperson(firstId + offset);
+        dao.updatePerson(person);
+    }
+
+    /**
+     * Reads and maps 1000 rows; compare with {@link #scanRows} for the cost of the mapping alone.
+     */
+    @Benchmark
+    public void mapRows(Blackhole bh) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(MAP_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            PersonRowMapper mapper = PersonRowMapper.of(rs);
+            while (rs.next()) {
+                bh.consume(mapper.map(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void scanRows(Blackhole bh) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(MAP_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    /** Search terms, kept apart so they do not multiply the other benchmarks. */
+    @State(Scope.Benchmark)
+    public static class SearchTerm {
+        @Param({ "mar", "emma3 dup" })
+        public String term;
+    }
+
+    private int randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(rows);
+    }
+}
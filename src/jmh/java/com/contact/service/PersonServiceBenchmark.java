@@ -0,0 +1,82 @@
+package com.contact.service;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.contact.bench.BenchmarkData;
+import com.contact.dao.PersonDAO;
+import com.contact.dao.PersonDAOImpl;
+import com.contact.model.Person;
+import com.contact.util.DatabaseConnection;
+
+/**
+ * Cost of {@link PersonServiceImpl#create}: validation, the duplicate check and the insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonServiceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private PersonDAO dao;
+    private PersonService service;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkData.useDatabase(rows);
+        dao = new PersonDAOImpl();
+        service = new PersonServiceImpl(dao);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.getInstance().shutdown();
+    }
+
+    /**
+     * A new person passes the duplicate check and is inserted, then deleted again
+     * so the dataset keeps its size.
+     */
+    @Benchmark
+    public void createAndDelete() throws SQLException {
+        Person person = service.create(BenchmarkData.person(rows + created++));
+        dao.deletePerson(person.getIdperson());
+    }
+
+    /**
+     * An existing name is rejected by the duplicate check.
+     */
+    @Benchmark
+    public Exception createDuplicate() throws SQLException {
+        Person person = BenchmarkData.person(ThreadLocalRandom.current().nextInt(rows));
+        person.setPhoneNumber(null);
+        person.setEmailAddress(null);
+        try {
+            service.create(person);
+            throw new AssertionError("duplicate accepted: " + person);
+        } catch (IllegalStateException expected) {
+            return expected;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.contact.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.contact.bench.BenchmarkData;
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+
+/**
+ * The contact table's list: what it costs to load a page into a {@link ColumnarPersonList},
+ * and a full scan of its ids against the same scan over a plain list of summary objects.
+ * The rows carry their own copies of every string, as rows read from JDBC do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnarPersonListBenchmark {
+
+    @Param({ "100000", "1000000" })
+    public int rows;
+
+    private List<PersonSummary> page;
+    private List<PersonSummary> objects;
+    private ColumnarPersonList columns;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(rows);
+        for (Person p : BenchmarkData.persons(rows)) {
+            page.add(new PersonSummary(p.getIdperson(), new String(p.getLastname()), new String(p.getFirstname()),
+                    new String(p.getNickname()), new String(p.getPhoneNumber()), new String(p.getEmailAddress()),
+                    p.getBirthDate()));
+        }
+        objects = page;
+        columns = fillColumns();
+    }
+
+    @Benchmark
+    public ColumnarPersonList fillColumns() {
+        return new ColumnarPersonList(page);
+    }
+
+    @Benchmark
+    public long scanIdsObjects() {
+        long sum = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            sum += objects.get(i).idperson();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanIdsColumns() {
+        long sum = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            sum += columns.idAt(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,86 @@
+package com.contact.ui;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.contact.bench.BenchmarkData;
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+
+/**
+ * The search behind the contact table's search box: the trigram {@link PersonSearchIndex}
+ * against the per-row predicate the table used to apply to every loaded person.
+ * Runs in memory only, no database involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PersonSearchBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    @Param({ "ma", "dupont", "0600012" })
+    public String query;
+
+    private List<Person> persons;
+    private PersonSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        persons = BenchmarkData.persons(rows);
+        index = new PersonSearchIndex();
+        persons.forEach(p -> index.add(PersonSummary.of(p)));
+    }
+
+    @Benchmark
+    public int index() {
+        IntPredicate matches = index.search(query);
+        int count = 0;
+        for (Person p : persons) {
+            if (matches.test(p.getIdperson())) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        Predicate<Person> matches = legacyPredicate(query);
+        int count = 0;
+        for (Person p : persons) {
+            if (matches.test(p)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * The filter the search box installed before the index existed, kept as the baseline.
+     */
+    private static Predicate<Person> legacyPredicate(String query) {
+        String lower = query == null ? "" : query.toLowerCase().trim();
+        return p -> {
+            if (lower.isEmpty()) return true;
+            return (p.getFullName() != null && p.getFullName().toLowerCase().contains(lower))
+                || (p.getNickname() != null && p.getNickname().toLowerCase().contains(lower))
+                || (p.getPhoneNumber() != null && p.getPhoneNumber().toLowerCase().contains(lower))
+                || (p.getEmailAddress() != null && p.getEmailAddress().toLowerCase().contains(lower));
+        };
+    }
+}
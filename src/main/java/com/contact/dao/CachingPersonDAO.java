@@ -0,0 +1,295 @@
+package com.contact.dao;
+
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.MonthDay;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * PersonDAO decorator that keeps recently read persons in a bounded LRU cache.
+ *
+ * Only {@link #findById} is served from the cache; list and search queries always go
+ * to the delegate. Writes made through this DAO update or invalidate the cached entry,
+ * so it must be shared by every writer in the application. A person read on a miss is
+ * only cached if no write went through this DAO while it was being read, so a slow read
+ * cannot replace the entry of a concurrent update with the older row. The cache hands
+ * out copies, so callers can modify the returned persons freely.
+ */
+public class CachingPersonDAO implements PersonDAO {
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final PersonDAO delegate;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Integer, Entry> cache;
+    /** Counts the writes that changed the cache. Guarded by {@code cache}. */
+    private long writes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingPersonDAO(PersonDAO delegate) {
+        this(delegate, DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * @param delegate the DAO that reads and writes the database
+     * @param maxSize the maximum number of cached persons; the least recently used one is evicted first
+     * @param ttl how long a cached person is served before it is read again
+     */
+    public CachingPersonDAO(PersonDAO delegate, int maxSize, Duration ttl) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Cache size must be positive");
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > CachingPersonDAO.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Person createPerson(Person person) throws SQLException {
+        Person created = delegate.createPerson(person);
+        put(created);
+        return created;
+    }
+
+    @Override
+    public Optional<Person> findById(Integer id) throws SQLException {
+        Person cached = get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long writesBefore = writeCount();
+        Optional<Person> found = delegate.findById(id);
+        found.ifPresent(person -> putIfNoWriteSince(person, writesBefore));
+        return found;
+    }
+
+    @Override
+    public List<Person> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Person> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException {
+        return delegate.findPage(afterLastname, afterFirstname, afterId, limit);
+    }
+
+    @Override
+    public List<PersonSummary> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException {
+        return delegate.findSummaryPage(afterLastname, afterFirstname, afterId, limit);
+    }
+
+    @Override
+    public boolean updatePerson(Person person) throws SQLException {
+        boolean updated;
+        try {
+            updated = delegate.updatePerson(person);
+        } catch (SQLException | RuntimeException e) {
+            invalidate(person.getIdperson());
+            throw e;
+        }
+        if (updated) {
+            put(person);
+        } else {
+            invalidate(person.getIdperson());
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deletePerson(Integer id) throws SQLException {
+        try {
+            return delegate.deletePerson(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public List<Person> searchPersonByName(String searchTerm) throws SQLException {
+        return delegate.searchPersonByName(searchTerm);
+    }
+
+    @Override
+    public List<Person> searchPersonByName(String searchTerm, int limit) throws SQLException {
+        return delegate.searchPersonByName(searchTerm, limit);
+    }
+
+    @Override
+    public Stream<Person> streamAll(int fetchSize) throws SQLException {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public Stream<Person> streamSearch(String searchTerm, int fetchSize) throws SQLException {
+        return delegate.streamSearch(searchTerm, fetchSize);
+    }
+
+    @Override
+    public boolean existsByName(String firstname, String lastname, Integer excludeId) throws SQLException {
+        return delegate.existsByName(firstname, lastname, excludeId);
+    }
+
+    @Override
+    public Set<String> findExistingNameKeys(Collection<String> nameKeys) throws SQLException {
+        return delegate.findExistingNameKeys(nameKeys);
+    }
+
+    @Override
+    public List<Person> findByPhone(String phoneNumber) throws SQLException {
+        return delegate.findByPhone(phoneNumber);
+    }
+
+    @Override
+    public List<Person> findByPhoneSuffix(String digits, int limit) throws SQLException {
+        return delegate.findByPhoneSuffix(digits, limit);
+    }
+
+    @Override
+    public List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId,
+                                                    int limit) throws SQLException {
+        return delegate.findBirthdaysBetween(from, to, afterDay, afterId, limit);
+    }
+
+    @Override
+    public long getChangeVersion() throws SQLException {
+        return delegate.getChangeVersion();
+    }
+
+    /**
+     * Also drops the cached entries of every changed person, which catches up with
+     * writes made by other processes.
+     */
+    @Override
+    public ChangeSet findChangedSince(long version) throws SQLException {
+        return invalidateChanged(delegate.findChangedSince(version));
+    }
+
+    /**
+     * A truncated change set does not say who changed, so it empties the whole cache.
+     */
+    @Override
+    public ChangeSet findChangedSince(long version, int limit) throws SQLException {
+        return invalidateChanged(delegate.findChangedSince(version, limit));
+    }
+
+    private ChangeSet invalidateChanged(ChangeSet changes) {
+        if (changes.truncated()) {
+            invalidateAll();
+        }
+        changes.changed().forEach(p -> invalidate(p.getIdperson()));
+        changes.deleted().forEach(this::invalidate);
+        return changes;
+    }
+
+    @Override
+    public List<Integer> createPersons(List<Person> persons) throws SQLException {
+        return delegate.createPersons(persons);
+    }
+
+    @Override
+    public int updatePersons(Collection<Person> persons) throws SQLException {
+        try {
+            return delegate.updatePersons(persons);
+        } finally {
+            persons.forEach(p -> invalidate(p.getIdperson()));
+        }
+    }
+
+    @Override
+    public int deletePersons(Collection<Integer> ids) throws SQLException {
+        try {
+            return delegate.deletePersons(ids);
+        } finally {
+            ids.forEach(this::invalidate);
+        }
+    }
+
+    public long getHitCount() { return hits.sum(); }
+
+    public long getMissCount() { return misses.sum(); }
+
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            writes++;
+            cache.clear();
+        }
+    }
+
+    private long writeCount() {
+        synchronized (cache) {
+            return writes;
+        }
+    }
+
+    private Person get(Integer id) {
+        if (id == null) return null;
+        synchronized (cache) {
+            Entry entry = cache.get(id);
+            if (entry == null) return null;
+            if (System.nanoTime() - entry.loadedAt >= ttlNanos) {
+                cache.remove(id);
+                return null;
+            }
+            return new Person(entry.person);
+        }
+    }
+
+    private void put(Person person) {
+        if (person == null || person.getIdperson() == null) return;
+        Entry entry = new Entry(new Person(person), System.nanoTime());
+        synchronized (cache) {
+            writes++;
+            cache.put(person.getIdperson(), entry);
+        }
+    }
+
+    private void putIfNoWriteSince(Person person, long writesBefore) {
+        Entry entry = new Entry(new Person(person), System.nanoTime());
+        synchronized (cache) {
+            if (writes == writesBefore) {
+                cache.put(person.getIdperson(), entry);
+            }
+        }
+    }
+
+    private void invalidate(Integer id) {
+        if (id == null) return;
+        synchronized (cache) {
+            writes++;
+            cache.remove(id);
+        }
+    }
+
+    private record Entry(Person person, long loadedAt) {}
+}
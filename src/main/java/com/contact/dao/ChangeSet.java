@@ -0,0 +1,25 @@
+package com.contact.dao;
+
+import com.contact.model.Person;
+import java.util.List;
+
+/**
+ * The persons changed since a given version of the person table.
+ *
+ * @param version the version the caller is up to date with after applying these changes;
+ *                pass it to the next {@link PersonDAO#findChangedSince} call
+ * @param changed persons created or updated since the version, as they are now
+ * @param deleted ids of persons deleted since the version
+ * @param truncated true if more persons changed than the caller asked for; the lists are
+ *                  then empty and the version unchanged, and the caller should reload instead
+ */
+public record ChangeSet(long version, List<Person> changed, List<Integer> deleted, boolean truncated) {
+
+    public ChangeSet(long version, List<Person> changed, List<Integer> deleted) {
+        this(version, changed, deleted, false);
+    }
+
+    public boolean isEmpty() {
+        return !truncated && changed.isEmpty() && deleted.isEmpty();
+    }
+}
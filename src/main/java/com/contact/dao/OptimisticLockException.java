@@ -0,0 +1,45 @@
+package com.contact.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Thrown when an update is refused because the person was changed by someone else
+ * since it was read: the version the caller holds no longer matches the row.
+ * Reading the person again and redoing the change resolves it.
+ */
+public class OptimisticLockException extends SQLException {
+    private static final long serialVersionUID = 1L;
+
+    /** SQLSTATE class 40, serialization failure: the same state a retryable transaction conflict reports. */
+    private static final String SQL_STATE = "40001";
+
+    private final int idperson;
+    private final int expectedVersion;
+    private final int actualVersion;
+
+    public OptimisticLockException(int idperson, int expectedVersion, int actualVersion) {
+        super("Person " + idperson + " was changed by someone else (version " + actualVersion
+                + ", expected " + expectedVersion + ")", SQL_STATE);
+        this.idperson = idperson;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public int getIdperson() {
+        return idperson;
+    }
+
+    /**
+     * @return the version the caller read and tried to update
+     */
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * @return the version currently stored
+     */
+    public int getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -1,15 +1,36 @@
 package com.contact.dao;
 
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
 import java.sql.SQLException;
+import java.time.MonthDay;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface PersonDAO {
     Person createPerson(Person person) throws SQLException;
     Optional<Person> findById(Integer id) throws SQLException;
     List<Person> findAll() throws SQLException;
+    List<Person> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException;
+    List<PersonSummary> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException;
     boolean updatePerson(Person person) throws SQLException;
     boolean deletePerson(Integer id) throws SQLException;
     List<Person> searchPersonByName(String searchTerm) throws SQLException;
+    List<Person> searchPersonByName(String searchTerm, int limit) throws SQLException;
+    Stream<Person> streamAll(int fetchSize) throws SQLException;
+    Stream<Person> streamSearch(String searchTerm, int fetchSize) throws SQLException;
+    boolean existsByName(String firstname, String lastname, Integer excludeId) throws SQLException;
+    Set<String> findExistingNameKeys(Collection<String> nameKeys) throws SQLException;
+    List<Person> findByPhone(String phoneNumber) throws SQLException;
+    List<Person> findByPhoneSuffix(String digits, int limit) throws SQLException;
+    List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId, int limit) throws SQLException;
+    long getChangeVersion() throws SQLException;
+    ChangeSet findChangedSince(long version) throws SQLException;
+    ChangeSet findChangedSince(long version, int limit) throws SQLException;
+    List<Integer> createPersons(List<Person> persons) throws SQLException;
+    int updatePersons(Collection<Person> persons) throws SQLException;
+    int deletePersons(Collection<Integer> ids) throws SQLException;
 }
\ No newline at end of file
@@ -1,50 +1,79 @@
 package com.contact.dao;
 
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
 import com.contact.util.*;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PersonDAOImpl implements PersonDAO {
+    private static final String INSERT_SQL = "INSERT INTO person (lastname, firstname, nickname, phone_number, address, email_address, birth_date, name_key, phone_digits, phone_rev, birth_md) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE person SET lastname=?, firstname=?, nickname=?, phone_number=?, address=?, email_address=?, birth_date=?, name_key=?, phone_digits=?, phone_rev=?, birth_md=?, version=version + 1 WHERE idperson=? AND version=coalesce(?, version)";
+    private static final String VERSION_SQL = "SELECT version FROM person WHERE idperson = ?";
+    private static final String DELETE_SQL = "DELETE FROM person WHERE idperson = ?";
+    private static final String SEARCH_SQL = "SELECT " + PersonRowMapper.columns("p.") + " FROM person_fts JOIN person p ON p.idperson = person_fts.rowid "
+            + "WHERE person_fts MATCH ? ORDER BY bm25(person_fts, 10.0, 5.0, 1.0, 1.0) LIMIT ?";
+    /** Terms shorter than a trigram cannot use person_fts and scan the table instead. */
+    private static final String SHORT_SEARCH_SQL = "SELECT " + PersonRowMapper.COLUMNS + " FROM person "
+            + "WHERE firstname || ' ' || lastname LIKE ?1 ESCAPE '\\' OR nickname LIKE ?1 ESCAPE '\\' "
+            + "OR phone_number LIKE ?1 ESCAPE '\\' OR email_address LIKE ?1 ESCAPE '\\' "
+            + "ORDER BY lastname, firstname, idperson LIMIT ?2";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
     private final DatabaseConnection dbConnection;
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     public PersonDAOImpl() {
         this.dbConnection = DatabaseConnection.getInstance();
     }
 
+    /**
+     * Sets how many rows the bulk methods send to SQLite per {@code executeBatch} call.
+     * All chunks of one bulk call still commit in a single transaction.
+     *
+     * @param batchSize rows per batch, must be positive
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
+    }
+
     @Override
     public Person createPerson(Person person) throws SQLException {
-        String sql = "INSERT INTO person (lastname, firstname, nickname, phone_number, address, email_address, birth_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection connection = dbConnection.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            pstmt.setString(1, person.getLastname());
-            pstmt.setString(2, person.getFirstname());
-            pstmt.setString(3, person.getNickname());
-            pstmt.setString(4, person.getPhoneNumber());
-            pstmt.setString(5, person.getAddress());
-            pstmt.setString(6, person.getEmailAddress());
-            pstmt.setDate(7, person.getBirthDate() != null ? Date.valueOf(person.getBirthDate()) : null);
+             PreparedStatement pstmt = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
+            bindPerson(pstmt, person);
             pstmt.executeUpdate();
             
             try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     person.setIdperson(generatedKeys.getInt(1));
+                    person.setVersion(1);
                 }
             }
-            System.out.println("Person created: " + person.getFullName());
             return person;
         }
     }
 
     @Override
     public Optional<Person> findById(Integer id) throws SQLException {
-        String sql = "SELECT * FROM person WHERE idperson = ?";
+        String sql = "SELECT " + PersonRowMapper.COLUMNS + " FROM person WHERE idperson = ?";
         
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -52,7 +81,7 @@ public class PersonDAOImpl implements PersonDAO {
             pstmt.setInt(1, id);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToPerson(rs));
+                    return Optional.of(PersonRowMapper.of(rs).map(rs));
                 }
             }
         }
@@ -62,107 +91,704 @@ public class PersonDAOImpl implements PersonDAO {
     @Override
     public List<Person> findAll() throws SQLException {
         List<Person> persons = new ArrayList<>();
-        String sql = "SELECT * FROM person ORDER BY lastname, firstname";
+        String sql = "SELECT " + PersonRowMapper.COLUMNS + " FROM person ORDER BY lastname, firstname";
         
         try (Connection conn = dbConnection.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-            
+
+            PersonRowMapper mapper = PersonRowMapper.of(rs);
             while (rs.next()) {
-                persons.add(mapResultSetToPerson(rs));
+                persons.add(mapper.map(rs));
             }
-            System.out.println("Retrieved " + persons.size() + " persons");
         }
         return persons;
     }
 
+    /**
+     * Returns the next page of persons in (lastname, firstname, idperson) order, starting
+     * strictly after the given key. Pass a null {@code afterId} to get the first page.
+     * The keyset condition is served by idx_person_name, so every page costs the same
+     * no matter how deep the caller has scrolled.
+     */
     @Override
-    public boolean updatePerson(Person person) throws SQLException {
-        String sql = "UPDATE person SET lastname=?, firstname=?, nickname=?, phone_number=?, address=?, email_address=?, birth_date=? WHERE idperson=?";
-        
+    public List<Person> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException {
+        return page(PersonRowMapper.COLUMNS, afterLastname, afterFirstname, afterId, limit, PersonRowMapper::map);
+    }
+
+    /**
+     * Same page as {@link #findPage}, reading only the columns the contact table shows.
+     */
+    @Override
+    public List<PersonSummary> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException {
+        return page(PersonRowMapper.SUMMARY_COLUMNS, afterLastname, afterFirstname, afterId, limit, PersonRowMapper::mapSummary);
+    }
+
+    private <T> List<T> page(String columns, String afterLastname, String afterFirstname, Integer afterId, int limit,
+                             RowReader<T> reader) throws SQLException {
+        List<T> rows = new ArrayList<>(Math.min(limit, DEFAULT_BATCH_SIZE));
+        String sql = afterId == null
+                ? "SELECT " + columns + " FROM person ORDER BY lastname, firstname, idperson LIMIT ?"
+                : "SELECT " + columns + " FROM person WHERE (lastname, firstname, idperson) > (?, ?, ?) ORDER BY lastname, firstname, idperson LIMIT ?";
+
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                pstmt.setString(index++, afterLastname);
+                pstmt.setString(index++, afterFirstname);
+                pstmt.setInt(index++, afterId);
+            }
+            pstmt.setInt(index, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                PersonRowMapper mapper = PersonRowMapper.of(rs);
+                while (rs.next()) {
+                    rows.add(reader.read(mapper, rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Updates the person if the row still has the person's version, and sets the new version
+     * on it. A person without a version, one that was not read from the database, overwrites
+     * the row unconditionally. Nothing is read unless the update is refused.
+     *
+     * @return false if no person has this id
+     * @throws OptimisticLockException if the row was changed since the person was read
+     */
+    @Override
+    public boolean updatePerson(Person person) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL + " RETURNING version")) {
             
-            pstmt.setString(1, person.getLastname());
-            pstmt.setString(2, person.getFirstname());
-            pstmt.setString(3, person.getNickname());
-            pstmt.setString(4, person.getPhoneNumber());
-            pstmt.setString(5, person.getAddress());
-            pstmt.setString(6, person.getEmailAddress());
-            pstmt.setDate(7, person.getBirthDate() != null ? Date.valueOf(person.getBirthDate()) : null);
-            pstmt.setInt(8, person.getIdperson());
+            bindPerson(pstmt, person);
+            pstmt.setInt(12, person.getIdperson());
+            pstmt.setObject(13, person.getVersion(), Types.INTEGER);
             
-            int rows = pstmt.executeUpdate();
-            System.out.println(rows > 0 ? "Person updated" : "Person not found");
-            return rows > 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    person.setVersion(rs.getInt(1));
+                    return true;
+                }
+            }
+            checkVersion(conn, person);
+            return false;
+        }
+    }
+
+    /**
+     * Called after an update matched no row: tells a missing person apart from a stale version.
+     *
+     * @throws OptimisticLockException if the person exists with another version
+     */
+    private void checkVersion(Connection conn, Person person) throws SQLException {
+        if (person.getVersion() == null) return;
+        try (PreparedStatement pstmt = conn.prepareStatement(VERSION_SQL)) {
+            pstmt.setInt(1, person.getIdperson());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    throw new OptimisticLockException(person.getIdperson(), person.getVersion(), rs.getInt(1));
+                }
+            }
         }
     }
 
     @Override
     public boolean deletePerson(Integer id) throws SQLException {
-        String sql = "DELETE FROM person WHERE idperson = ?";
-        
         try (Connection conn = dbConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
             
             pstmt.setInt(1, id);
-            int rows = pstmt.executeUpdate();
-            System.out.println(rows > 0 ? "Person deleted" : "Person not found");
-            return rows > 0;
+            return pstmt.executeUpdate() > 0;
         }
     }
 
     @Override
     public List<Person> searchPersonByName(String searchTerm) throws SQLException {
+        return searchPersonByName(searchTerm, -1);
+    }
+
+    /**
+     * Substring search over the full name, nickname, phone and email, ignoring case, the
+     * same way the contact table filters loaded rows. Terms of three or more characters
+     * are looked up in the trigram person_fts index and ordered by bm25 relevance with
+     * the name weighted highest; shorter ones scan the table in name order.
+     *
+     * @param limit the maximum number of results, or a negative value for no limit
+     */
+    @Override
+    public List<Person> searchPersonByName(String searchTerm, int limit) throws SQLException {
         List<Person> persons = new ArrayList<>();
-        String sql = "SELECT * FROM person WHERE LOWER(firstname) LIKE LOWER(?) OR LOWER(lastname) LIKE LOWER(?)";
-        
+        String term = searchTerm == null ? "" : searchTerm.trim();
+        if (term.isEmpty()) return persons;
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(searchSql(term))) {
+
+            pstmt.setString(1, searchParameter(term));
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                PersonRowMapper mapper = PersonRowMapper.of(rs);
+                while (rs.next()) {
+                    persons.add(mapper.map(rs));
+                }
+            }
+        }
+        return persons;
+    }
+
+    /**
+     * Streams every person in (lastname, firstname, idperson) order from an open cursor,
+     * reading {@code fetchSize} rows at a time, so memory use does not grow with the table.
+     */
+    @Override
+    public Stream<Person> streamAll(int fetchSize) throws SQLException {
+        return stream("SELECT " + PersonRowMapper.COLUMNS + " FROM person ORDER BY lastname, firstname, idperson", fetchSize, pstmt -> {});
+    }
+
+    /**
+     * Streaming form of {@link #searchPersonByName(String, int)} without a limit.
+     */
+    @Override
+    public Stream<Person> streamSearch(String searchTerm, int fetchSize) throws SQLException {
+        String term = searchTerm == null ? "" : searchTerm.trim();
+        if (term.isEmpty()) return Stream.empty();
+        return stream(searchSql(term), fetchSize, pstmt -> {
+            pstmt.setString(1, searchParameter(term));
+            pstmt.setInt(2, -1);
+        });
+    }
+
+    private static boolean isShortTerm(String term) {
+        return term.codePointCount(0, term.length()) < 3;
+    }
+
+    private static String searchSql(String term) {
+        return isShortTerm(term) ? SHORT_SEARCH_SQL : SEARCH_SQL;
+    }
+
+    private static String searchParameter(String term) {
+        if (isShortTerm(term)) {
+            return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+        return toMatchQuery(term);
+    }
+
+    /**
+     * Turns free text into an FTS5 query matching it as one substring, e.g. {@code ohn d}
+     * becomes {@code "ohn d"}. Quoting it as a phrase, with embedded quotes doubled, keeps
+     * user input from being parsed as FTS5 syntax.
+     */
+    static String toMatchQuery(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) return "";
+        return '"' + searchTerm.trim().replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Point lookup on idx_person_name_key; names are compared trimmed and case-insensitively.
+     *
+     * @param excludeId id of a person to ignore (the one being updated), or null
+     */
+    @Override
+    public boolean existsByName(String firstname, String lastname, Integer excludeId) throws SQLException {
+        String sql = "SELECT 1 FROM person WHERE name_key = ? AND idperson IS NOT ? LIMIT 1";
+
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            String pattern = "%" + searchTerm + "%";
-            pstmt.setString(1, pattern);
-            pstmt.setString(2, pattern);
-            
+
+            pstmt.setString(1, nameKey(firstname, lastname));
+            pstmt.setObject(2, excludeId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Checks many names at once, as built by {@link #nameKey}: one query on
+     * idx_person_name_key per batch of keys instead of one per name.
+     *
+     * @return the keys that some person already has
+     */
+    @Override
+    public Set<String> findExistingNameKeys(Collection<String> nameKeys) throws SQLException {
+        Set<String> found = new HashSet<>();
+        if (nameKeys.isEmpty()) return found;
+        List<String> keys = List.copyOf(nameKeys);
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                List<String> chunk = keys.subList(from, Math.min(keys.size(), from + batchSize));
+                String sql = "SELECT DISTINCT name_key FROM person WHERE name_key IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            found.add(rs.getString(1));
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Point lookup on idx_person_phone_digits. The number is compared by its digits only,
+     * so "06 12-34" finds a person saved as "061234".
+     */
+    @Override
+    public List<Person> findByPhone(String phoneNumber) throws SQLException {
+        String digits = phoneDigits(phoneNumber);
+        if (digits == null) return List.of();
+        String sql = "SELECT " + PersonRowMapper.COLUMNS + " FROM person WHERE phone_digits = ? ORDER BY idperson";
+        return query(sql, pstmt -> pstmt.setString(1, digits));
+    }
+
+    /**
+     * Finds the persons whose phone number ends with the given digits. The digits are
+     * reversed, which turns the suffix into a prefix, and looked up as a range on
+     * idx_person_phone_rev: "1234" becomes {@code phone_rev >= '4321' AND phone_rev < '4322'}.
+     */
+    @Override
+    public List<Person> findByPhoneSuffix(String digits, int limit) throws SQLException {
+        String suffix = phoneDigits(digits);
+        if (suffix == null) return List.of();
+        String from = reverse(suffix);
+        String to = from.substring(0, from.length() - 1) + (char) (from.charAt(from.length() - 1) + 1);
+        String sql = "SELECT " + PersonRowMapper.COLUMNS + " FROM person WHERE phone_rev >= ? AND phone_rev < ? ORDER BY phone_rev LIMIT ?";
+        return query(sql, pstmt -> {
+            pstmt.setString(1, from);
+            pstmt.setString(2, to);
+            pstmt.setInt(3, limit);
+        });
+    }
+
+    /**
+     * Returns the persons whose birthday falls between two days of the year, both included,
+     * in (birth_md, idperson) order starting strictly after the given key. When {@code from}
+     * is later in the year than {@code to} the period wraps around New Year: December
+     * birthdays come first, then January ones. Each part of the period is a range scan on
+     * idx_person_birth_md.
+     *
+     * @param afterDay birthday of the last person of the previous page, or null for the first page
+     * @param afterId id of the last person of the previous page, or null for the first page
+     */
+    @Override
+    public List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId,
+                                                    int limit) throws SQLException {
+        MonthDay[][] ranges = from.isAfter(to)
+                ? new MonthDay[][] { { from, MonthDay.of(12, 31) }, { MonthDay.of(1, 1), to } }
+                : new MonthDay[][] { { from, to } };
+
+        List<PersonSummary> rows = new ArrayList<>(Math.min(limit, DEFAULT_BATCH_SIZE));
+        boolean started = afterDay == null;
+        for (MonthDay[] range : ranges) {
+            if (rows.size() >= limit) break;
+            boolean resume = !started && !afterDay.isBefore(range[0]) && !afterDay.isAfter(range[1]);
+            if (!started && !resume) continue;
+            started = true;
+
+            String sql = "SELECT " + PersonRowMapper.SUMMARY_COLUMNS + " FROM person WHERE birth_md BETWEEN ? AND ?"
+                    + (resume ? " AND (birth_md, idperson) > (?, ?)" : "")
+                    + " ORDER BY birth_md, idperson LIMIT ?";
+            int remaining = limit - rows.size();
+            try (Connection conn = dbConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                int index = 1;
+                pstmt.setString(index++, monthDayKey(range[0]));
+                pstmt.setString(index++, monthDayKey(range[1]));
+                if (resume) {
+                    pstmt.setString(index++, monthDayKey(afterDay));
+                    pstmt.setInt(index++, afterId);
+                }
+                pstmt.setInt(index, remaining);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    PersonRowMapper mapper = PersonRowMapper.of(rs);
+                    while (rs.next()) {
+                        rows.add(mapper.mapSummary(rs));
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @return the version of the latest change to the person table, or 0 if nothing changed yet
+     */
+    @Override
+    public long getChangeVersion() throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT coalesce(max(version), 0) FROM person_changelog")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Reads the changes made after a version from person_changelog, which the triggers of
+     * migration V7 keep up to date. The log holds one entry per person, so the cost grows with the
+     * number of persons changed, not with the size of the table.
+     */
+    @Override
+    public ChangeSet findChangedSince(long version) throws SQLException {
+        return findChangedSince(version, -1);
+    }
+
+    /**
+     * Same as {@link #findChangedSince(long)}, but gives up without loading the persons
+     * when more than {@code limit} changed, such as after a large import.
+     *
+     * @param limit the maximum number of changes to return, or a negative value for no limit
+     * @return the changes, or a {@link ChangeSet#truncated() truncated} set if there are more
+     */
+    @Override
+    public ChangeSet findChangedSince(long version, int limit) throws SQLException {
+        String sql = "SELECT c.version AS change_version, c.deleted AS change_deleted, c.idperson AS change_id, "
+                + PersonRowMapper.columns("p.") + " FROM person_changelog c LEFT JOIN person p ON p.idperson = c.idperson "
+                + "WHERE c.version > ? ORDER BY c.version LIMIT ?";
+        long latest = version;
+        List<Person> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setLong(1, version);
+            pstmt.setInt(2, limit < 0 ? -1 : limit + 1);
             try (ResultSet rs = pstmt.executeQuery()) {
+                PersonRowMapper mapper = PersonRowMapper.of(rs);
                 while (rs.next()) {
-                    persons.add(mapResultSetToPerson(rs));
+                    if (limit >= 0 && changed.size() + deleted.size() == limit) {
+                        return new ChangeSet(version, List.of(), List.of(), true);
+                    }
+                    latest = rs.getLong(1);
+                    if (rs.getBoolean(2) || rs.getObject(4) == null) {
+                        deleted.add(rs.getInt(3));
+                    } else {
+                        changed.add(mapper.map(rs));
+                    }
+                }
+            }
+        }
+        return new ChangeSet(latest, changed, deleted);
+    }
+
+    private List<Person> query(String sql, StatementSetup setup) throws SQLException {
+        List<Person> persons = new ArrayList<>();
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            setup.apply(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                PersonRowMapper mapper = PersonRowMapper.of(rs);
+                while (rs.next()) {
+                    persons.add(mapper.map(rs));
                 }
             }
-            System.out.println(" Found " + persons.size() + " matching persons");
         }
         return persons;
     }
 
-    private Person mapResultSetToPerson(ResultSet rs) throws SQLException {
-        Person person = new Person();
-        person.setIdperson(rs.getInt("idperson"));
-        person.setLastname(rs.getString("lastname"));
-        person.setFirstname(rs.getString("firstname"));
-        person.setNickname(rs.getString("nickname"));
-        person.setPhoneNumber(rs.getString("phone_number"));
-        person.setAddress(rs.getString("address"));
-        person.setEmailAddress(rs.getString("email_address"));
-        
-        
-        try {
-            Date birthDate = rs.getDate("birth_date");
-            if (birthDate != null) {
-                person.setBirthDate(birthDate.toLocalDate());
+    /**
+     * Inserts all persons in one transaction, sending them to SQLite in batches.
+     * The generated ids are set on the given persons and returned in the same order.
+     */
+    @Override
+    public List<Integer> createPersons(List<Person> persons) throws SQLException {
+        List<Integer> keys = new ArrayList<>(persons.size());
+        if (persons.isEmpty()) return keys;
+
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL);
+                 PreparedStatement lastId = conn.prepareStatement("SELECT last_insert_rowid()")) {
+
+                for (int start = 0; start < persons.size(); start += batchSize) {
+                    List<Person> chunk = persons.subList(start, Math.min(start + batchSize, persons.size()));
+                    for (Person person : chunk) {
+                        bindPerson(pstmt, person);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+
+                    // The driver does not report batch keys, but AUTOINCREMENT hands out
+                    // consecutive ids while this transaction holds the write lock.
+                    int last;
+                    try (ResultSet rs = lastId.executeQuery()) {
+                        rs.next();
+                        last = rs.getInt(1);
+                    }
+                    int first = last - chunk.size() + 1;
+                    for (int i = 0; i < chunk.size(); i++) {
+                        chunk.get(i).setIdperson(first + i);
+                        chunk.get(i).setVersion(1);
+                        keys.add(first + i);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                for (int i = 0; i < keys.size(); i++) {
+                    persons.get(i).setIdperson(null);
+                    persons.get(i).setVersion(null);
+                }
+                throw e;
             }
-        } catch (Exception e) {
-            
-            String dateStr = rs.getString("birth_date");
-            if (dateStr != null && !dateStr.isEmpty()) {
-                try {
-                    
-                    person.setBirthDate(LocalDate.parse(dateStr));
-                } catch (Exception e2) {
-                    
+        }
+        return keys;
+    }
+
+    /**
+     * Updates every person with the same version check as {@link #updatePerson}. If any
+     * of them was changed since it was read, none is updated. Persons that do not exist
+     * are skipped and keep their version; the versions of the others are only advanced
+     * once all are saved.
+     *
+     * @throws OptimisticLockException for the first person found changed since it was read
+     */
+    @Override
+    public int updatePersons(Collection<Person> persons) throws SQLException {
+        List<Person> updated = new ArrayList<>(persons.size());
+        int rows = executeInBatches(UPDATE_SQL, persons, (pstmt, person) -> {
+            bindPerson(pstmt, person);
+            pstmt.setInt(12, person.getIdperson());
+            pstmt.setObject(13, person.getVersion(), Types.INTEGER);
+        }, (conn, person, count) -> {
+            if (count > 0) {
+                updated.add(person);
+            } else {
+                checkVersion(conn, person);
+            }
+        });
+        for (Person person : updated) {
+            if (person.getVersion() != null) person.setVersion(person.getVersion() + 1);
+        }
+        return rows;
+    }
+
+    @Override
+    public int deletePersons(Collection<Integer> ids) throws SQLException {
+        return executeInBatches(DELETE_SQL, ids, (pstmt, id) -> pstmt.setInt(1, id));
+    }
+
+    /**
+     * Runs one statement for every item in a single transaction, flushing the batch every
+     * {@code batchSize} rows.
+     *
+     * @return the total number of rows affected
+     */
+    private <T> int executeInBatches(String sql, Collection<T> items, StatementBinder<T> binder) throws SQLException {
+        return executeInBatches(sql, items, binder, (conn, item, count) -> { });
+    }
+
+    /**
+     * Same as above, handing every item and its row count to a check that can still
+     * roll the whole transaction back by throwing.
+     */
+    private <T> int executeInBatches(String sql, Collection<T> items, StatementBinder<T> binder,
+                                     BatchCheck<T> check) throws SQLException {
+        if (items.isEmpty()) return 0;
+
+        int rows = 0;
+        try (Connection conn = dbConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                List<T> chunk = new ArrayList<>(Math.min(items.size(), batchSize));
+                Iterator<T> it = items.iterator();
+                while (it.hasNext()) {
+                    T item = it.next();
+                    binder.bind(pstmt, item);
+                    pstmt.addBatch();
+                    chunk.add(item);
+                    if (chunk.size() == batchSize || !it.hasNext()) {
+                        int[] counts = pstmt.executeBatch();
+                        for (int i = 0; i < counts.length; i++) {
+                            rows += Math.max(counts[i], 0);
+                            check.check(conn, chunk.get(i), counts[i]);
+                        }
+                        chunk.clear();
+                    }
                 }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
         }
-        
-        return person;
+        return rows;
+    }
+
+    /**
+     * Opens a cursor and exposes it as a lazy stream. The connection, statement and
+     * result set stay open until the stream is closed or fully consumed.
+     */
+    private Stream<Person> stream(String sql, int fetchSize, StatementSetup setup) throws SQLException {
+        Connection conn = dbConnection.getConnection();
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(sql);
+            setup.apply(pstmt);
+            pstmt.setFetchSize(fetchSize);
+            Cursor cursor = new Cursor(conn, pstmt, pstmt.executeQuery());
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException | RuntimeException e) {
+            if (pstmt != null) pstmt.close();
+            conn.close();
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementSetup {
+        void apply(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowReader<T> {
+        T read(PersonRowMapper mapper, ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Maps rows one at a time as the stream pulls them, and releases the connection
+     * as soon as the last row has been read.
+     */
+    private static final class Cursor extends Spliterators.AbstractSpliterator<Person> {
+        private final Connection conn;
+        private final PreparedStatement pstmt;
+        private final ResultSet rs;
+        private final PersonRowMapper mapper;
+        private boolean closed;
+
+        Cursor(Connection conn, PreparedStatement pstmt, ResultSet rs) throws SQLException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.pstmt = pstmt;
+            this.rs = rs;
+            this.mapper = PersonRowMapper.of(rs);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Person> action) {
+            if (closed) return false;
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new UncheckedSQLException(e);
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            try (conn; pstmt; rs) {
+                // closed in reverse order: result set, statement, then the connection back to the pool
+            } catch (SQLException e) {
+                throw new UncheckedSQLException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface BatchCheck<T> {
+        void check(Connection conn, T item, int count) throws SQLException;
+    }
+
+    private void bindPerson(PreparedStatement pstmt, Person person) throws SQLException {
+        pstmt.setString(1, person.getLastname());
+        pstmt.setString(2, person.getFirstname());
+        pstmt.setString(3, person.getNickname());
+        pstmt.setString(4, person.getPhoneNumber());
+        pstmt.setString(5, person.getAddress());
+        pstmt.setString(6, person.getEmailAddress());
+        pstmt.setString(7, PersonRowMapper.toColumn(person.getBirthDate()));
+        pstmt.setString(8, nameKey(person.getFirstname(), person.getLastname()));
+        pstmt.setString(9, phoneDigits(person.getPhoneNumber()));
+        pstmt.setString(10, phoneReversed(person.getPhoneNumber()));
+        pstmt.setString(11, person.getBirthDate() != null ? monthDayKey(MonthDay.from(person.getBirthDate())) : null);
+    }
+
+    /**
+     * Builds the value stored in name_key: both names trimmed and lowercased,
+     * joined by a unit separator so "ann a" + "b" and "ann" + "a b" stay distinct.
+     */
+    public static String nameKey(String firstname, String lastname) {
+        return normalizeName(firstname) + '\u001F' + normalizeName(lastname);
+    }
+
+    private static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the value stored in phone_digits: the digits of a phone number, without
+     * spaces, dashes or other separators.
+     *
+     * @return the digits, or null if the number has none
+     */
+    public static String phoneDigits(String phoneNumber) {
+        if (phoneNumber == null) return null;
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        return digits.isEmpty() ? null : digits.toString();
+    }
+
+    /**
+     * Builds the value stored in phone_rev: {@link #phoneDigits} reversed, so that a
+     * suffix search is a prefix range.
+     *
+     * @return the reversed digits, or null if the number has none
+     */
+    public static String phoneReversed(String phoneNumber) {
+        String digits = phoneDigits(phoneNumber);
+        return digits != null ? reverse(digits) : null;
+    }
+
+    /**
+     * Builds the value stored in birth_md from a stored birth_date.
+     *
+     * @return the day of the year, such as "02-29", or null if the text is not a valid ISO date
+     */
+    public static String birthMonthDay(String birthDate) {
+        LocalDate date = birthDate != null ? PersonRowMapper.parseIsoDate(birthDate) : null;
+        return date != null ? monthDayKey(MonthDay.from(date)) : null;
+    }
+
+    /**
+     * @return the value stored in birth_md for a day of the year, such as "02-29"
+     */
+    static String monthDayKey(MonthDay day) {
+        return (day.getMonthValue() < 10 ? "0" : "") + day.getMonthValue() + '-'
+                + (day.getDayOfMonth() < 10 ? "0" : "") + day.getDayOfMonth();
+    }
+
+    private static String reverse(String digits) {
+        return new StringBuilder(digits).reverse().toString();
     }
-}
\ No newline at end of file
+}
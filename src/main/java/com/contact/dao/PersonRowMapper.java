@@ -0,0 +1,155 @@
+package com.contact.dao;
+
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Maps rows of the person table to {@link Person} or {@link PersonSummary} objects.
+ *
+ * Column positions are looked up once from the result set metadata, so mapping a row
+ * reads every value by index. Birth dates are stored as ISO text ({@code yyyy-MM-dd});
+ * older rows written as epoch milliseconds are still read correctly. Neither form
+ * throws on bad data: an unreadable date maps to {@code null}.
+ */
+final class PersonRowMapper {
+
+    private static final String[] COLUMN_NAMES = {
+            "idperson", "lastname", "firstname", "nickname", "phone_number", "address", "email_address", "birth_date", "version"
+    };
+
+    /** The columns every person query selects. */
+    static final String COLUMNS = columns("");
+
+    /** The columns a {@link PersonSummary} needs. */
+    static final String SUMMARY_COLUMNS = "idperson, lastname, firstname, nickname, phone_number, email_address, birth_date";
+
+    private int id = -1;
+    private int lastname = -1;
+    private int firstname = -1;
+    private int nickname = -1;
+    private int phoneNumber = -1;
+    private int address = -1;
+    private int emailAddress = -1;
+    private int birthDate = -1;
+    private int version = -1;
+
+    private PersonRowMapper(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            switch (metaData.getColumnLabel(i).toLowerCase(Locale.ROOT)) {
+                case "idperson" -> id = i;
+                case "lastname" -> lastname = i;
+                case "firstname" -> firstname = i;
+                case "nickname" -> nickname = i;
+                case "phone_number" -> phoneNumber = i;
+                case "address" -> address = i;
+                case "email_address" -> emailAddress = i;
+                case "birth_date" -> birthDate = i;
+                case "version" -> version = i;
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * @return the person columns as a select list, each name preceded by the prefix
+     */
+    static String columns(String prefix) {
+        StringBuilder sb = new StringBuilder();
+        for (String name : COLUMN_NAMES) {
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(prefix).append(name);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return a mapper for the columns of this result set
+     */
+    static PersonRowMapper of(ResultSet rs) throws SQLException {
+        return new PersonRowMapper(rs.getMetaData());
+    }
+
+    /**
+     * Maps the current row. Columns the query did not select stay {@code null}.
+     */
+    Person map(ResultSet rs) throws SQLException {
+        Person person = new Person();
+        if (id > 0) person.setIdperson(rs.getInt(id));
+        if (lastname > 0) person.setLastname(rs.getString(lastname));
+        if (firstname > 0) person.setFirstname(rs.getString(firstname));
+        if (nickname > 0) person.setNickname(rs.getString(nickname));
+        if (phoneNumber > 0) person.setPhoneNumber(rs.getString(phoneNumber));
+        if (address > 0) person.setAddress(rs.getString(address));
+        if (emailAddress > 0) person.setEmailAddress(rs.getString(emailAddress));
+        if (birthDate > 0) person.setBirthDate(toLocalDate(rs.getObject(birthDate)));
+        if (version > 0) person.setVersion(rs.getInt(version));
+        return person;
+    }
+
+    /**
+     * Maps the current row to a summary. Columns the query did not select stay {@code null}.
+     */
+    PersonSummary mapSummary(ResultSet rs) throws SQLException {
+        return new PersonSummary(
+                id > 0 ? rs.getInt(id) : null,
+                lastname > 0 ? rs.getString(lastname) : null,
+                firstname > 0 ? rs.getString(firstname) : null,
+                nickname > 0 ? rs.getString(nickname) : null,
+                phoneNumber > 0 ? rs.getString(phoneNumber) : null,
+                emailAddress > 0 ? rs.getString(emailAddress) : null,
+                birthDate > 0 ? toLocalDate(rs.getObject(birthDate)) : null);
+    }
+
+    /**
+     * @return the value stored in birth_date for a date
+     */
+    static String toColumn(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+
+    /**
+     * Decodes a birth_date value: ISO text, or epoch milliseconds at local midnight as
+     * written by {@code PreparedStatement.setDate} in earlier versions.
+     */
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof String text) return parseIsoDate(text);
+        if (value instanceof Number millis) {
+            return Instant.ofEpochMilli(millis.longValue()).atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+        return null;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd}, ignoring anything after it such as a time of day.
+     *
+     * @return the date, or null if the text is not a valid date
+     */
+    static LocalDate parseIsoDate(String text) {
+        if (text.length() < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') return null;
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || !YearMonth.of(year, month).isValidDay(day)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,20 @@
+package com.contact.dao;
+
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Wraps a {@link SQLException} thrown while a {@code Stream} returned by the DAO is
+ * being consumed, where checked exceptions cannot be thrown.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    public UncheckedSQLException(SQLException cause) {
+        super(Objects.requireNonNull(cause));
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
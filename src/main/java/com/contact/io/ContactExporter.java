@@ -0,0 +1,101 @@
+package com.contact.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import com.contact.model.Person;
+
+/**
+ * Writes persons to a CSV or vCard file as they come out of a stream, so an export
+ * of the whole address book needs no more memory than a single contact.
+ *
+ * The file is written through a buffered writer on a {@link FileChannel} into a
+ * {@code .part} file next to the target, which replaces the target only once the
+ * export is complete. A failed or cancelled export leaves the target untouched.
+ */
+public class ContactExporter {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int PROGRESS_INTERVAL = 1000;
+
+    private final int bufferSize;
+
+    public ContactExporter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize size of the character buffer in front of the file channel
+     */
+    public ContactExporter(int bufferSize) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("Buffer size must be positive");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Writes every person of the stream to the target file. The caller keeps ownership
+     * of the stream and closes it.
+     *
+     * @param progress receives the number of persons written so far, every
+     *                 {@value #PROGRESS_INTERVAL} persons and once at the end
+     * @return the number of persons written
+     * @throws InterruptedIOException if the thread is interrupted during the export
+     * @throws IOException if the file cannot be written
+     */
+    public long export(Stream<Person> persons, Path target, ExportFormat format, LongConsumer progress)
+            throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        long count = 0;
+        try {
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), bufferSize)) {
+
+                VCard vcard = format == ExportFormat.CSV ? null : new VCard(format);
+                if (format == ExportFormat.CSV) {
+                    Csv.writeRecord(out, Csv.HEADER);
+                }
+                Iterator<Person> it = persons.iterator();
+                while (it.hasNext()) {
+                    Person p = it.next();
+                    if (vcard != null) {
+                        vcard.write(out, p);
+                    } else {
+                        Csv.writeRecord(out, p.getLastname(), p.getFirstname(), p.getNickname(),
+                                p.getPhoneNumber(), p.getAddress(), p.getEmailAddress(),
+                                p.getBirthDate() != null ? p.getBirthDate().toString() : null);
+                    }
+                    if (++count % PROGRESS_INTERVAL == 0) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Export cancelled");
+                        }
+                        progress.accept(count);
+                    }
+                }
+            }
+            try {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        progress.accept(count);
+        return count;
+    }
+}
@@ -0,0 +1,480 @@
+package com.contact.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.sqlite.SQLiteErrorCode;
+
+import com.contact.dao.PersonDAO;
+import com.contact.dao.PersonDAOImpl;
+import com.contact.model.Person;
+import com.contact.service.PersonValidator;
+
+/**
+ * Imports a CSV or vCard file through a three-stage pipeline:
+ * <ol>
+ * <li>a reader splits the buffered file into records and hands them out in batches,</li>
+ * <li>several parsers turn records into persons in parallel and check them against the
+ *     {@link PersonValidator} rules and the existing names,</li>
+ * <li>the calling thread, as the single writer, puts the batches back in file order,
+ *     drops names repeated within the file and saves the persons with
+ *     {@link PersonDAO#createPersons} in one transaction per chunk.</li>
+ * </ol>
+ * The stages are connected by bounded queues, and the reader needs a permit per batch
+ * that the writer only returns once the batch is written, so neither a slow writer nor a
+ * slow parser holding back the next batch in order lets records pile up in memory.
+ * If a chunk breaks a constraint, its persons are saved one by one so only the offending
+ * records are rejected; any other database error ends the import.
+ *
+ * CSV files need a header row naming the columns, as written by {@link ContactExporter};
+ * vCard 3.0 and 4.0 files are recognized by their first line.
+ */
+public class ContactImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int RECORDS_PER_BATCH = 500;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Receives the progress of an import after every chunk.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        /**
+         * @param records number of records handled so far
+         * @param fraction share of the file read so far, from 0 to 1
+         */
+        void update(long records, double fraction);
+    }
+
+    private record Batch(long seq, List<Record> records) {}
+    private record Record(int line, String text) {}
+    private record Parsed(long seq, List<Row> rows) {}
+    private record Row(int line, Person person, String error) {}
+
+    private static final Batch END_OF_INPUT = new Batch(-1, List.of());
+    private static final Parsed END_OF_BATCHES = new Parsed(-1, List.of());
+
+    private final PersonDAO personDAO;
+    private final int chunkSize;
+    private final int parsers;
+
+    public ContactImporter(PersonDAO personDAO) {
+        this(personDAO, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param chunkSize persons saved per transaction
+     * @param parsers number of parallel parsing workers
+     */
+    public ContactImporter(PersonDAO personDAO, int chunkSize, int parsers) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        if (parsers <= 0) throw new IllegalArgumentException("Parser count must be positive");
+        this.personDAO = personDAO;
+        this.chunkSize = chunkSize;
+        this.parsers = parsers;
+    }
+
+    /**
+     * Imports every valid record of the file. Chunks saved before a failure or an
+     * interruption stay saved.
+     *
+     * @return which records were imported and which were rejected, and why
+     * @throws IOException if the file cannot be read or has no usable CSV header
+     * @throws SQLException if the database fails for another reason than a rejected record
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public ImportReport importFile(Path file, Progress progress) throws IOException, SQLException, InterruptedException {
+        long started = System.nanoTime();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        long size = Math.max(1, channel.size());
+
+        BlockingQueue<Batch> records = new ArrayBlockingQueue<>(parsers * 2);
+        BlockingQueue<Parsed> parsed = new ArrayBlockingQueue<>(parsers * 2);
+        Semaphore inFlight = new Semaphore(parsers * 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Splitter splitter = Splitter.open(reader);
+            workers.submit(() -> read(splitter, records, inFlight, failure));
+            for (int i = 0; i < parsers; i++) {
+                workers.submit(() -> parse(splitter, records, parsed, failure));
+            }
+
+            RowWriter writer = new RowWriter();
+            Map<Long, Parsed> waiting = new HashMap<>();
+            long next = 0;
+            int finished = 0;
+            while (finished < parsers) {
+                Parsed batch = parsed.take();
+                rethrow(failure.get());
+                if (batch == END_OF_BATCHES) {
+                    finished++;
+                    continue;
+                }
+                waiting.put(batch.seq(), batch);
+                for (Parsed ready; (ready = waiting.remove(next)) != null; next++) {
+                    inFlight.release();
+                    writer.accept(ready.rows());
+                    if (writer.flushIfFull()) {
+                        progress.update(writer.read, Math.min(1, channel.position() / (double) size));
+                    }
+                }
+            }
+            rethrow(failure.get());
+            writer.flush();
+            progress.update(writer.read, 1);
+            return new ImportReport(writer.read, writer.imported, writer.rejected,
+                    Duration.ofNanos(System.nanoTime() - started));
+        } finally {
+            workers.shutdownNow();
+            reader.close();
+        }
+    }
+
+    private static void rethrow(Exception e) throws IOException, SQLException {
+        if (e == null) return;
+        if (e instanceof IOException io) throw io;
+        if (e instanceof SQLException sql) throw sql;
+        throw new IOException(e.getMessage(), e);
+    }
+
+    /**
+     * Reader stage: cuts the file into batches of records. Each batch takes a permit from
+     * {@code inFlight}, which bounds the batches read but not yet written, including those
+     * the writer holds back until the batches before them are parsed.
+     */
+    private void read(Splitter splitter, BlockingQueue<Batch> out, Semaphore inFlight,
+                      AtomicReference<Exception> failure) {
+        try {
+            long seq = 0;
+            List<Record> batch = new ArrayList<>(RECORDS_PER_BATCH);
+            for (Record record; (record = splitter.next()) != null; ) {
+                batch.add(record);
+                if (batch.size() == RECORDS_PER_BATCH) {
+                    inFlight.acquire();
+                    out.put(new Batch(seq++, batch));
+                    batch = new ArrayList<>(RECORDS_PER_BATCH);
+                }
+            }
+            if (!batch.isEmpty()) {
+                inFlight.acquire();
+                out.put(new Batch(seq, batch));
+            }
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } catch (InterruptedException e) {
+            return;
+        }
+        try {
+            for (int i = 0; i < parsers; i++) {
+                out.put(END_OF_INPUT);
+            }
+        } catch (InterruptedException e) {
+            // the import is being aborted
+        }
+    }
+
+    /**
+     * Parser stage: turns records into validated persons, then checks the names of a
+     * whole batch against the database in one call.
+     */
+    private void parse(Splitter splitter, BlockingQueue<Batch> in, BlockingQueue<Parsed> out,
+                       AtomicReference<Exception> failure) {
+        try {
+            for (Batch batch; (batch = in.take()) != END_OF_INPUT; ) {
+                List<Row> rows = new ArrayList<>(batch.records().size());
+                for (Record record : batch.records()) {
+                    rows.add(parseRow(splitter, record));
+                }
+                out.put(new Parsed(batch.seq(), rejectExisting(rows)));
+            }
+        } catch (SQLException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } catch (InterruptedException e) {
+            return;
+        }
+        try {
+            out.put(END_OF_BATCHES);
+        } catch (InterruptedException e) {
+            // the import is being aborted
+        }
+    }
+
+    private static Row parseRow(Splitter splitter, Record record) {
+        Person person;
+        try {
+            person = splitter.toPerson(record.text());
+            trim(person);
+            PersonValidator.validate(person);
+        } catch (IllegalArgumentException e) {
+            return new Row(record.line(), null, e.getMessage());
+        }
+        return new Row(record.line(), person, null);
+    }
+
+    private List<Row> rejectExisting(List<Row> rows) throws SQLException {
+        Set<String> keys = new HashSet<>();
+        for (Row row : rows) {
+            if (row.person() != null) keys.add(nameKey(row.person()));
+        }
+        Set<String> existing = personDAO.findExistingNameKeys(keys);
+        if (existing.isEmpty()) return rows;
+
+        List<Row> checked = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.person() != null && existing.contains(nameKey(row.person()))) {
+                checked.add(new Row(row.line(), null, "Duplicate person (same firstname + lastname)"));
+            } else {
+                checked.add(row);
+            }
+        }
+        return checked;
+    }
+
+    private static String nameKey(Person person) {
+        return PersonDAOImpl.nameKey(person.getFirstname(), person.getLastname());
+    }
+
+    private static void trim(Person p) {
+        p.setLastname(trimToNull(p.getLastname()));
+        p.setFirstname(trimToNull(p.getFirstname()));
+        p.setNickname(trimToNull(p.getNickname()));
+        p.setPhoneNumber(trimToNull(p.getPhoneNumber()));
+        p.setAddress(trimToNull(p.getAddress()));
+        p.setEmailAddress(trimToNull(p.getEmailAddress()));
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null) return null;
+        String trimmed = s.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Writer stage, run on the calling thread in file order.
+     */
+    private final class RowWriter {
+        private final List<Row> pending = new ArrayList<>(chunkSize);
+        private final Set<String> names = new HashSet<>();
+        private final List<ImportReport.RowError> rejected = new ArrayList<>();
+        private long read;
+        private long imported;
+
+        void accept(List<Row> rows) {
+            for (Row row : rows) {
+                read++;
+                if (row.error() != null) {
+                    rejected.add(new ImportReport.RowError(row.line(), row.error()));
+                } else if (!names.add(nameKey(row.person()))) {
+                    rejected.add(new ImportReport.RowError(row.line(), "Duplicate person (same firstname + lastname) in file"));
+                } else {
+                    pending.add(row);
+                }
+            }
+        }
+
+        boolean flushIfFull() throws SQLException, InterruptedException {
+            if (pending.size() < chunkSize) return false;
+            flush();
+            return true;
+        }
+
+        void flush() throws SQLException, InterruptedException {
+            if (Thread.interrupted()) throw new InterruptedException("Import cancelled");
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                List<Row> chunk = pending.subList(from, Math.min(pending.size(), from + chunkSize));
+                List<Person> persons = chunk.stream().map(Row::person).toList();
+                try {
+                    imported += personDAO.createPersons(persons).size();
+                } catch (SQLException e) {
+                    if (!isConstraintViolation(e)) throw e;
+                    saveOneByOne(chunk);
+                }
+            }
+            pending.clear();
+        }
+
+        private void saveOneByOne(List<Row> chunk) throws SQLException {
+            for (Row row : chunk) {
+                try {
+                    personDAO.createPerson(row.person());
+                    imported++;
+                } catch (SQLException e) {
+                    if (!isConstraintViolation(e)) throw e;
+                    rejected.add(new ImportReport.RowError(row.line(), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * A record breaking a constraint, such as a phone number already taken, is rejected;
+     * a busy, full or broken database is not the record's fault. SQLite reports constraint
+     * violations as SQLITE_CONSTRAINT, possibly extended with the kind of constraint.
+     */
+    private static boolean isConstraintViolation(SQLException e) {
+        return (e.getErrorCode() & 0xff) == SQLiteErrorCode.SQLITE_CONSTRAINT.code;
+    }
+
+    /**
+     * Finds where records start and end, and knows how to parse them.
+     */
+    private abstract static class Splitter {
+        private final BufferedReader reader;
+        int line;
+
+        Splitter(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        static Splitter open(BufferedReader reader) throws IOException {
+            reader.mark(READ_BUFFER_SIZE);
+            String first = reader.readLine();
+            while (first != null && first.isBlank()) first = reader.readLine();
+            if (first == null) throw new IOException("The file is empty");
+            if (first.startsWith("\uFEFF")) first = first.substring(1);
+            reader.reset();
+            if (first.trim().equalsIgnoreCase("BEGIN:VCARD")) {
+                return new VCardSplitter(reader);
+            }
+            return new CsvSplitter(reader);
+        }
+
+        String readLine() throws IOException {
+            String text = reader.readLine();
+            if (text != null) {
+                line++;
+                if (line == 1 && text.startsWith("\uFEFF")) text = text.substring(1);
+            }
+            return text;
+        }
+
+        /**
+         * Called by the reader stage only.
+         *
+         * @return the next record, or null at the end of the file
+         */
+        abstract Record next() throws IOException;
+
+        /**
+         * Called by the parser stage, concurrently.
+         *
+         * @throws IllegalArgumentException if the record is malformed
+         */
+        abstract Person toPerson(String record);
+    }
+
+    private static final class CsvSplitter extends Splitter {
+        private final int[] columns = new int[Csv.HEADER.length];
+
+        CsvSplitter(BufferedReader reader) throws IOException {
+            super(reader);
+            String header = readLine();
+            while (header != null && header.isBlank()) header = readLine();
+            List<String> names = Csv.parseRecord(header);
+            for (int i = 0; i < Csv.HEADER.length; i++) {
+                columns[i] = -1;
+                for (int j = 0; j < names.size(); j++) {
+                    if (names.get(j) != null && names.get(j).trim().toLowerCase(Locale.ROOT).equals(Csv.HEADER[i])) {
+                        columns[i] = j;
+                    }
+                }
+            }
+            if (columns[0] < 0 || columns[1] < 0) {
+                throw new IOException("CSV header must name the lastname and firstname columns");
+            }
+        }
+
+        @Override
+        Record next() throws IOException {
+            String text = readLine();
+            while (text != null && text.isBlank()) text = readLine();
+            if (text == null) return null;
+            int start = line;
+            boolean quoted = Csv.continuesQuote(text, false);
+            if (!quoted) return new Record(start, text);
+
+            StringBuilder record = new StringBuilder(text);
+            while (quoted && (text = readLine()) != null) {
+                record.append('\n').append(text);
+                quoted = Csv.continuesQuote(text, true);
+            }
+            return new Record(start, record.toString());
+        }
+
+        @Override
+        Person toPerson(String record) {
+            List<String> fields = Csv.parseRecord(record);
+            Person p = new Person();
+            p.setLastname(field(fields, 0));
+            p.setFirstname(field(fields, 1));
+            p.setNickname(field(fields, 2));
+            p.setPhoneNumber(field(fields, 3));
+            p.setAddress(field(fields, 4));
+            p.setEmailAddress(field(fields, 5));
+            String birthDate = field(fields, 6);
+            if (birthDate != null && !birthDate.isBlank()) {
+                try {
+                    p.setBirthDate(LocalDate.parse(birthDate.trim()));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid birth date: " + birthDate);
+                }
+            }
+            return p;
+        }
+
+        private String field(List<String> fields, int column) {
+            int index = columns[column];
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+
+    private static final class VCardSplitter extends Splitter {
+
+        VCardSplitter(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Record next() throws IOException {
+            String text = readLine();
+            while (text != null && !text.trim().equalsIgnoreCase("BEGIN:VCARD")) text = readLine();
+            if (text == null) return null;
+            int start = line;
+            StringBuilder card = new StringBuilder();
+            while ((text = readLine()) != null && !text.trim().equalsIgnoreCase("END:VCARD")) {
+                card.append(text).append('\n');
+            }
+            return new Record(start, card.toString());
+        }
+
+        @Override
+        Person toPerson(String record) {
+            return VCard.parse(record);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.contact.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 encoding: comma separated fields, CRLF line ends, and fields containing
+ * a comma, quote or line break enclosed in double quotes with inner quotes doubled.
+ * Parsing accepts the same, with LF line ends as well.
+ */
+final class Csv {
+
+    static final String[] HEADER = {
+            "lastname", "firstname", "nickname", "phone_number", "address", "email_address", "birth_date"
+    };
+
+    private Csv() {
+    }
+
+    static void writeRecord(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) out.write(',');
+            writeField(out, fields[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeField(Writer out, String field) throws IOException {
+        if (field == null || field.isEmpty()) return;
+        if (!needsQuotes(field)) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) == '"') {
+                out.write(field, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(field, start, field.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * Splits one record into its fields, removing quotes. Empty fields become {@code null}.
+     *
+     * @param record the record text, which may span several lines inside quoted fields
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    static List<String> parseRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.isEmpty() ? null : field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+        fields.add(field.isEmpty() ? null : field.toString());
+        return fields;
+    }
+
+    /**
+     * @return true if the line leaves a quoted field open, so the record continues on the next line
+     */
+    static boolean continuesQuote(CharSequence line, boolean quoted) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') quoted = !quoted;
+        }
+        return quoted;
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') return true;
+        }
+        return false;
+    }
+}
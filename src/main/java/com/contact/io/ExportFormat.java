@@ -0,0 +1,61 @@
+package com.contact.io;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * File formats the address book can be exported to.
+ */
+public enum ExportFormat {
+    CSV("CSV", "csv"),
+    VCARD_3("vCard 3.0", "vcf"),
+    VCARD_4("vCard 4.0", "vcf");
+
+    private final String displayName;
+    private final String extension;
+
+    ExportFormat(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return the usual file extension, without the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Guesses the format of a file from its extension. vCard files are taken as the
+     * first vCard version listed.
+     *
+     * @return the format, or empty if the name has no known extension
+     */
+    public static Optional<ExportFormat> forFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) return Optional.empty();
+        String ext = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(ext)) return Optional.of(format);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gives a file name this format's extension, replacing the extension of another
+     * format, so "contacts.csv" exported as vCard becomes "contacts.vcf".
+     */
+    public String withExtension(String fileName) {
+        Optional<ExportFormat> current = forFileName(fileName);
+        if (current.isPresent()) {
+            if (current.get().extension.equals(extension)) return fileName;
+            fileName = fileName.substring(0, fileName.lastIndexOf('.'));
+        }
+        return fileName + "." + extension;
+    }
+}
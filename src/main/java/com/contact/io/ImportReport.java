@@ -0,0 +1,29 @@
+package com.contact.io;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of an import.
+ *
+ * @param read number of records found in the file
+ * @param imported number of persons saved
+ * @param rejected the records that were not saved, in file order
+ * @param elapsed how long the import took
+ */
+public record ImportReport(long read, long imported, List<RowError> rejected, Duration elapsed) {
+
+    /**
+     * A rejected record.
+     *
+     * @param line the line of the file the record starts on
+     * @param message why it was rejected
+     */
+    public record RowError(int line, String message) {
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+}
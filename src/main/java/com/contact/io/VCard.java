@@ -0,0 +1,225 @@
+package com.contact.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.contact.model.Person;
+
+/**
+ * vCard 3.0 (RFC 2426) and 4.0 (RFC 6350) encoding of a person. Text values are
+ * escaped, and content lines longer than 75 octets are folded onto continuation
+ * lines starting with a space. Parsing accepts both versions.
+ */
+final class VCard {
+
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final boolean v4;
+    private final StringBuilder line = new StringBuilder(128);
+
+    VCard(ExportFormat format) {
+        this.v4 = format == ExportFormat.VCARD_4;
+    }
+
+    void write(Writer out, Person p) throws IOException {
+        writeLine(out, "BEGIN:VCARD");
+        writeLine(out, v4 ? "VERSION:4.0" : "VERSION:3.0");
+        writeLine(out, property("N").text(p.getLastname()).raw(";").text(p.getFirstname()).raw(";;;"));
+        writeLine(out, property("FN").text(p.getFirstname()).raw(" ").text(p.getLastname()));
+        if (hasText(p.getNickname())) {
+            writeLine(out, property("NICKNAME").text(p.getNickname()));
+        }
+        if (hasText(p.getPhoneNumber())) {
+            writeLine(out, property(v4 ? "TEL;VALUE=text;TYPE=cell" : "TEL;TYPE=CELL").text(p.getPhoneNumber()));
+        }
+        if (hasText(p.getEmailAddress())) {
+            writeLine(out, property(v4 ? "EMAIL" : "EMAIL;TYPE=INTERNET").text(p.getEmailAddress()));
+        }
+        if (hasText(p.getAddress())) {
+            writeLine(out, property(v4 ? "ADR;TYPE=home" : "ADR;TYPE=HOME").raw(";;").text(p.getAddress()).raw(";;;;"));
+        }
+        if (p.getBirthDate() != null) {
+            DateTimeFormatter format = v4 ? DateTimeFormatter.BASIC_ISO_DATE : DateTimeFormatter.ISO_LOCAL_DATE;
+            writeLine(out, property("BDAY").raw(format.format(p.getBirthDate())));
+        }
+        writeLine(out, "END:VCARD");
+    }
+
+    private VCard property(String name) {
+        line.setLength(0);
+        line.append(name).append(':');
+        return this;
+    }
+
+    private VCard raw(String value) {
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a text value, escaping the characters that have a meaning in vCard syntax.
+     */
+    private VCard text(String value) {
+        if (value == null) return this;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ',', ';' -> line.append('\\').append(c);
+                case '\n' -> line.append("\\n");
+                case '\r' -> { }
+                default -> line.append(c);
+            }
+        }
+        return this;
+    }
+
+    private void writeLine(Writer out, VCard builder) throws IOException {
+        writeLine(out, builder.line);
+    }
+
+    /**
+     * Writes a content line, folding it so no physical line exceeds 75 UTF-8 octets.
+     * A surrogate pair is never split.
+     */
+    private static void writeLine(Writer out, CharSequence text) throws IOException {
+        int octets = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            int width = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.append(text, start, i).append("\r\n ");
+                start = i;
+                octets = 1; // the leading space
+            }
+            octets += width;
+            i += Character.charCount(cp);
+        }
+        out.append(text, start, text.length()).append("\r\n");
+    }
+
+    /**
+     * Reads one card, from {@code BEGIN:VCARD} to {@code END:VCARD}. Only the properties
+     * the contact table has are read; the others are ignored.
+     *
+     * @param card the lines of the card, separated by line breaks
+     * @throws IllegalArgumentException if the birthday is not a valid date
+     */
+    static Person parse(String card) {
+        Person p = new Person();
+        String formattedName = null;
+        for (String contentLine : unfold(card)) {
+            int colon = contentLine.indexOf(':');
+            if (colon < 0) continue;
+            String name = contentLine.substring(0, colon);
+            int params = name.indexOf(';');
+            if (params >= 0) name = name.substring(0, params);
+            name = name.substring(name.indexOf('.') + 1).toUpperCase(Locale.ROOT); // drop a group prefix
+            String value = contentLine.substring(colon + 1);
+
+            switch (name) {
+                case "N" -> {
+                    List<String> parts = components(value);
+                    p.setLastname(parts.get(0));
+                    p.setFirstname(parts.size() > 1 ? parts.get(1) : null);
+                }
+                case "FN" -> formattedName = unescape(value);
+                case "NICKNAME" -> p.setNickname(unescape(value));
+                case "TEL" -> {
+                    if (p.getPhoneNumber() == null) p.setPhoneNumber(unescape(value).replaceFirst("^tel:", ""));
+                }
+                case "EMAIL" -> {
+                    if (p.getEmailAddress() == null) p.setEmailAddress(unescape(value));
+                }
+                case "ADR" -> {
+                    if (p.getAddress() == null) {
+                        String address = String.join(", ", components(value).stream().filter(s -> !s.isBlank()).toList());
+                        p.setAddress(address.isEmpty() ? null : address);
+                    }
+                }
+                case "BDAY" -> p.setBirthDate(parseDate(value.trim()));
+                default -> { }
+            }
+        }
+        if (p.getLastname() == null && p.getFirstname() == null && formattedName != null) {
+            int space = formattedName.lastIndexOf(' ');
+            p.setFirstname(space < 0 ? formattedName : formattedName.substring(0, space));
+            p.setLastname(space < 0 ? null : formattedName.substring(space + 1));
+        }
+        return p;
+    }
+
+    private static List<String> unfold(String card) {
+        List<String> lines = new ArrayList<>();
+        for (String line : card.split("\r?\n")) {
+            if (!lines.isEmpty() && (line.startsWith(" ") || line.startsWith("\t"))) {
+                int last = lines.size() - 1;
+                lines.set(last, lines.get(last) + line.substring(1));
+            } else if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Splits a structured value on the semicolons that are not escaped.
+     */
+    private static List<String> components(String value) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ';') {
+                parts.add(unescape(value.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        parts.add(unescape(value.substring(start)));
+        return parts;
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) return value;
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads {@code 1995-05-15} (3.0) or {@code 19950515} (4.0). A date without a year
+     * ({@code --0515}) cannot be stored and is skipped, and a time of day is ignored.
+     */
+    private static LocalDate parseDate(String value) {
+        if (value.isEmpty() || value.startsWith("--")) return null;
+        int time = value.indexOf('T');
+        String date = time > 0 ? value.substring(0, time) : value;
+        try {
+            return date.indexOf('-') > 0
+                    ? LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE)
+                    : LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid birth date: " + value);
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,9 @@
+package com.contact.metrics;
+
+/**
+ * JMX view of a value sampled on demand, such as the number of idle pooled connections.
+ */
+public interface GaugeMXBean {
+
+    long getValue();
+}
@@ -0,0 +1,222 @@
+package com.contact.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.BaseStream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Named timers and gauges, each registered as an MXBean under
+ * {@code <domain>:type=Timer,name=...} or {@code <domain>:type=Gauge,name=...}
+ * so they can be watched with JConsole or VisualVM.
+ *
+ * {@link #instrument} wraps an interface implementation in a proxy that times every
+ * call; {@link #startReporter} logs a snapshot of all metrics at a fixed interval.
+ */
+public class MetricsRegistry implements AutoCloseable {
+
+    public static final String DEFAULT_DOMAIN = "com.contact";
+
+    private static final System.Logger LOG = System.getLogger(MetricsRegistry.class.getName());
+
+    private final String domain;
+    private final MBeanServer server;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reporter;
+
+    public MetricsRegistry(String domain) {
+        this(domain, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public MetricsRegistry(String domain, MBeanServer server) {
+        this.domain = domain;
+        this.server = server;
+    }
+
+    private static final class Holder {
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry(DEFAULT_DOMAIN);
+    }
+
+    /**
+     * @return the registry shared by the application
+     */
+    public static MetricsRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the timer with the given name, creating and registering it on first use.
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> {
+            Timer timer = new Timer(n);
+            register("Timer", n, timer);
+            return timer;
+        });
+    }
+
+    /**
+     * Registers a value that is read whenever JMX or a snapshot asks for it,
+     * replacing any gauge of the same name.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+        register("Gauge", name, new Gauge(value));
+    }
+
+    /**
+     * Wraps an implementation of an interface so that every call is timed by the timer
+     * {@code <prefix>.<method name>}. Exceptions count as errors and are rethrown unchanged.
+     * The rows of a call are the size of a returned collection, an {@code int} count,
+     * one for a present {@code Optional}, a {@code true} or any other object, and zero for
+     * streams, which are only read after the call returns.
+     */
+    public <T> T instrument(Class<T> type, T target, String prefix) {
+        Map<Method, Timer> byMethod = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            Timer timer = byMethod.computeIfAbsent(method, m -> timer(prefix + "." + m.getName()));
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(target, args);
+                timer.record(System.nanoTime() - start, rowsOf(result), false);
+                return result;
+            } catch (InvocationTargetException e) {
+                timer.record(System.nanoTime() - start, 0, true);
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * @return the current state of every timer, sorted by name
+     */
+    public List<Timer.Snapshot> snapshot() {
+        List<Timer.Snapshot> snapshots = new ArrayList<>();
+        new TreeMap<>(timers).values().forEach(timer -> snapshots.add(timer.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * @return a multi-line report of every timer and gauge
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder("Metrics snapshot");
+        for (Timer.Snapshot snapshot : snapshot()) {
+            if (snapshot.count() > 0) {
+                sb.append(System.lineSeparator()).append("  ").append(snapshot);
+            }
+        }
+        new TreeMap<>(gauges).forEach((name, value) ->
+                sb.append(System.lineSeparator()).append(String.format("  %-32s %d", name, value.getAsLong())));
+        return sb.toString();
+    }
+
+    /**
+     * Hands a {@link #report()} to the sink at a fixed interval, on a daemon thread.
+     * Replaces a reporter that is already running.
+     */
+    public synchronized void startReporter(Duration interval, Consumer<String> sink) {
+        stopReporter();
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        reporter.scheduleAtFixedRate(() -> sink.accept(report()), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Logs a {@link #report()} at {@code INFO} level at a fixed interval.
+     */
+    public void startReporter(Duration interval) {
+        startReporter(interval, report -> LOG.log(System.Logger.Level.INFO, report));
+    }
+
+    public synchronized void stopReporter() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    /**
+     * Stops the reporter and unregisters every MXBean.
+     */
+    @Override
+    public void close() {
+        stopReporter();
+        timers.keySet().forEach(name -> unregister("Timer", name));
+        gauges.keySet().forEach(name -> unregister("Gauge", name));
+        timers.clear();
+        gauges.clear();
+    }
+
+    private static long rowsOf(Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection<?> c) return c.size();
+        if (result instanceof BaseStream<?, ?>) return 0; // not read yet
+        if (result instanceof Integer n) return n;
+        if (result instanceof Optional<?> o) return o.isPresent() ? 1 : 0;
+        if (result instanceof Boolean b) return b ? 1 : 0;
+        return 1;
+    }
+
+    private record Gauge(LongSupplier value) implements GaugeMXBean {
+        @Override
+        public long getValue() {
+            return value.getAsLong();
+        }
+    }
+
+    private void register(String type, String name, Object mbean) {
+        try {
+            ObjectName objectName = objectName(type, name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mbean, objectName);
+        } catch (JMException e) {
+            LOG.log(System.Logger.Level.WARNING, "Could not register " + type + " " + name, e);
+        }
+    }
+
+    private void unregister(String type, String name) {
+        try {
+            ObjectName objectName = objectName(type, name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.log(System.Logger.Level.WARNING, "Could not unregister " + type + " " + name, e);
+        }
+    }
+
+    private ObjectName objectName(String type, String name) throws JMException {
+        return new ObjectName(domain + ":type=" + type + ",name=" + ObjectName.quote(name));
+    }
+}
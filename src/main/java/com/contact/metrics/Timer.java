@@ -0,0 +1,166 @@
+package com.contact.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram plus call, error and row counters for one operation.
+ *
+ * Durations go into log-linear buckets: every power of two is split into eight
+ * buckets, so a percentile is accurate to within about 6% whatever its magnitude.
+ * Recording is lock-free and allocation-free, so it is cheap enough for every call.
+ */
+public class Timer implements TimerMXBean {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param nanos how long the call took
+     * @param rowCount how many rows it read or wrote
+     * @param failed true if it threw
+     */
+    public void record(long nanos, long rowCount, boolean failed) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+        if (rowCount > 0) rows.add(rowCount);
+        if (failed) errors.increment();
+    }
+
+    /**
+     * @return the calls recorded so far
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        return new Snapshot(name, count.sum(), errors.sum(), rows.sum(),
+                total == 0 ? 0 : totalNanos.sum() / (double) total / NANOS_PER_MILLI,
+                percentile(counts, total, 0.50, max),
+                percentile(counts, total, 0.95, max),
+                percentile(counts, total, 0.99, max),
+                max / NANOS_PER_MILLI);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return snapshot().meanMillis();
+    }
+
+    @Override
+    public double get50thPercentileMillis() {
+        return snapshot().p50Millis();
+    }
+
+    @Override
+    public double get95thPercentileMillis() {
+        return snapshot().p95Millis();
+    }
+
+    @Override
+    public double get99thPercentileMillis() {
+        return snapshot().p99Millis();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        errors.reset();
+        rows.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return the middle of the value range covered by a bucket, in nanoseconds
+     */
+    static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) / 2;
+    }
+
+    private static double percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(valueOf(i), max) / NANOS_PER_MILLI;
+            }
+        }
+        return max / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Point-in-time copy of a timer. Durations are in milliseconds.
+     */
+    public record Snapshot(String name, long count, long errors, long rows, double meanMillis,
+                           double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-32s count=%d errors=%d rows=%d mean=%.3fms p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms",
+                    name, count, errors, rows, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.contact.metrics;
+
+/**
+ * JMX view of a {@link Timer}. Durations are in milliseconds.
+ */
+public interface TimerMXBean {
+
+    long getCount();
+
+    long getErrorCount();
+
+    long getRowCount();
+
+    double getMeanMillis();
+
+    double get50thPercentileMillis();
+
+    double get95thPercentileMillis();
+
+    double get99thPercentileMillis();
+
+    double getMaxMillis();
+
+    /**
+     * Clears all recorded calls.
+     */
+    void reset();
+}
@@ -11,6 +11,7 @@ public class Person {
     private String address;
     private String emailAddress;
     private LocalDate birthDate;
+    private Integer version;
 
     public Person() {}
 
@@ -20,6 +21,18 @@ public class Person {
         this.nickname = nickname;
     }
 
+    public Person(Person other) {
+        this.idperson = other.idperson;
+        this.lastname = other.lastname;
+        this.firstname = other.firstname;
+        this.nickname = other.nickname;
+        this.phoneNumber = other.phoneNumber;
+        this.address = other.address;
+        this.emailAddress = other.emailAddress;
+        this.birthDate = other.birthDate;
+        this.version = other.version;
+    }
+
     // ALL GETTERS AND SETTERS
     public Integer getIdperson() { return idperson; }
     public void setIdperson(Integer id) { this.idperson = id; }
@@ -45,6 +58,10 @@ public class Person {
     public LocalDate getBirthDate() { return birthDate; }
     public void setBirthDate(LocalDate date) { this.birthDate = date; }
 
+    /** Row version read from the database, or null if this person was not read from it. */
+    public Integer getVersion() { return version; }
+    public void setVersion(Integer version) { this.version = version; }
+
     public String getFullName() { return firstname + " " + lastname; }
 
     @Override
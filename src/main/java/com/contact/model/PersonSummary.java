@@ -0,0 +1,21 @@
+package com.contact.model;
+
+import java.time.LocalDate;
+
+/**
+ * The columns the contact table shows, without the address.
+ * Listing summaries instead of full {@link Person} objects keeps long lists small;
+ * the full person is loaded by id when it is opened.
+ */
+public record PersonSummary(Integer idperson, String lastname, String firstname, String nickname,
+                            String phoneNumber, String emailAddress, LocalDate birthDate) {
+
+    public static PersonSummary of(Person person) {
+        return new PersonSummary(person.getIdperson(), person.getLastname(), person.getFirstname(),
+                person.getNickname(), person.getPhoneNumber(), person.getEmailAddress(), person.getBirthDate());
+    }
+
+    public String fullName() {
+        return firstname + " " + lastname;
+    }
+}
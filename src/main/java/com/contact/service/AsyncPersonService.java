@@ -0,0 +1,66 @@
+package com.contact.service;
+
+import com.contact.dao.ChangeSet;
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Non-blocking variant of {@link PersonService}. Every call runs on a background
+ * executor and completes its future with the result or with the exception the
+ * synchronous call would have thrown. Cancelling a future interrupts the call
+ * if it has not finished yet.
+ */
+public interface AsyncPersonService extends AutoCloseable {
+
+    CompletableFuture<Person> create(Person person);
+
+    CompletableFuture<Optional<Person>> findById(Integer id);
+
+    CompletableFuture<List<Person>> findAll();
+
+    CompletableFuture<List<Person>> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit);
+
+    CompletableFuture<List<PersonSummary>> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit);
+
+    CompletableFuture<Boolean> update(Person person);
+
+    CompletableFuture<Boolean> delete(Integer id);
+
+    CompletableFuture<List<Person>> searchByName(String searchTerm, int limit);
+
+    CompletableFuture<List<Person>> findByPhone(String phoneNumber);
+
+    CompletableFuture<List<Person>> findByPhoneSuffix(String digits, int limit);
+
+    CompletableFuture<List<PersonSummary>> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId, int limit);
+
+    CompletableFuture<Long> getChangeVersion();
+
+    CompletableFuture<ChangeSet> findChangedSince(long version, int limit);
+
+    /**
+     * Stops accepting new calls; calls already running are allowed to finish.
+     */
+    @Override
+    void close();
+
+    /**
+     * Returns the exception that failed an asynchronous call, without the
+     * {@link CompletionException} or {@link ExecutionException} wrappers added by dependent stages.
+     */
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
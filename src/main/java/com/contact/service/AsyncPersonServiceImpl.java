@@ -0,0 +1,137 @@
+package com.contact.service;
+
+import com.contact.dao.ChangeSet;
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class AsyncPersonServiceImpl implements AsyncPersonService {
+
+    private final PersonService personService;
+    private final ExecutorService executor;
+
+    /**
+     * Creates an asynchronous service that runs each call on its own virtual thread.
+     * @param personService the synchronous service doing the work
+     */
+    public AsyncPersonServiceImpl(PersonService personService) {
+        this(personService, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates an asynchronous service on the given executor, which is shut down by {@link #close()}.
+     * @param personService the synchronous service doing the work
+     * @param executor the executor that runs the calls
+     */
+    public AsyncPersonServiceImpl(PersonService personService, ExecutorService executor) {
+        this.personService = Objects.requireNonNull(personService);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public CompletableFuture<Person> create(Person person) {
+        return submit(() -> personService.create(person));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Person>> findById(Integer id) {
+        return submit(() -> personService.findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Person>> findAll() {
+        return submit(personService::findAll);
+    }
+
+    @Override
+    public CompletableFuture<List<Person>> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) {
+        return submit(() -> personService.findPage(afterLastname, afterFirstname, afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<PersonSummary>> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) {
+        return submit(() -> personService.findSummaryPage(afterLastname, afterFirstname, afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(Person person) {
+        return submit(() -> personService.update(person));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(Integer id) {
+        return submit(() -> personService.delete(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Person>> searchByName(String searchTerm, int limit) {
+        return submit(() -> personService.searchByName(searchTerm, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<Person>> findByPhone(String phoneNumber) {
+        return submit(() -> personService.findByPhone(phoneNumber));
+    }
+
+    @Override
+    public CompletableFuture<List<Person>> findByPhoneSuffix(String digits, int limit) {
+        return submit(() -> personService.findByPhoneSuffix(digits, limit));
+    }
+
+    @Override
+    public CompletableFuture<List<PersonSummary>> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay,
+                                                                      Integer afterId, int limit) {
+        return submit(() -> personService.findBirthdaysBetween(from, to, afterDay, afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<Long> getChangeVersion() {
+        return submit(personService::getChangeVersion);
+    }
+
+    @Override
+    public CompletableFuture<ChangeSet> findChangedSince(long version, int limit) {
+        return submit(() -> personService.findChangedSince(version, limit));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the call on the executor. Cancelling the returned future interrupts the
+     * worker, so a caller waiting for a pooled connection gives up right away.
+     * @param call the synchronous service call
+     * @return a future completed with the result or the exception of the call
+     */
+    private <T> CompletableFuture<T> submit(ServiceCall<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ServiceCall<T> {
+        T call() throws Exception;
+    }
+}
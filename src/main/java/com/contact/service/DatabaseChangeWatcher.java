@@ -0,0 +1,87 @@
+package com.contact.service;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Notices changes other processes make to the database by polling the change version
+ * ({@link PersonService#getChangeVersion}) at a fixed interval. A poll reads the highest
+ * change log entry, a single index lookup, so watching is cheap however large the table is.
+ *
+ * Whenever the version moved since the previous poll, the listener receives the new
+ * version on the given executor; fetching the changes themselves is left to it, typically
+ * through {@link PersonService#findChangedSince}. Changes made by this process are
+ * reported too, since they look the same in the change log.
+ */
+public class DatabaseChangeWatcher implements AutoCloseable {
+    private static final System.Logger LOG = System.getLogger(DatabaseChangeWatcher.class.getName());
+
+    private final PersonService personService;
+    private final Duration interval;
+    private final Executor callbackExecutor;
+    private final LongConsumer listener;
+
+    private ScheduledExecutorService poller;
+    /** Version seen by the last poll, or -1 before the first one. Only used by the poller thread. */
+    private long seen = -1;
+
+    /**
+     * @param interval time between the end of a poll and the start of the next one
+     * @param callbackExecutor runs the listener, e.g. {@code Platform::runLater}
+     * @param listener receives the new version after every detected change
+     */
+    public DatabaseChangeWatcher(PersonService personService, Duration interval, Executor callbackExecutor,
+                                 LongConsumer listener) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Poll interval must be positive");
+        }
+        this.personService = personService;
+        this.interval = interval;
+        this.callbackExecutor = callbackExecutor;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts polling on a daemon thread. The first poll only records the current version.
+     */
+    public synchronized void start() {
+        if (poller != null) return;
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "database-change-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        poller.scheduleWithFixedDelay(this::poll, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling. A listener call already handed to the executor may still run.
+     */
+    @Override
+    public synchronized void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    private void poll() {
+        long version;
+        try {
+            version = personService.getChangeVersion();
+        } catch (Exception e) {
+            // keep polling: the database may be locked or busy for a moment
+            LOG.log(System.Logger.Level.WARNING, "Could not read change version", e);
+            return;
+        }
+        if (seen >= 0 && version != seen) {
+            callbackExecutor.execute(() -> listener.accept(version));
+        }
+        seen = version;
+    }
+}
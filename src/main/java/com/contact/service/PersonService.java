@@ -1,10 +1,14 @@
 package com.contact.service;
 
+import com.contact.dao.ChangeSet;
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
 
 import java.sql.SQLException;
+import java.time.MonthDay;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PersonService {
 
@@ -14,9 +18,35 @@ public interface PersonService {
 
     List<Person> findAll() throws SQLException;
 
+    List<Person> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException;
+
+    List<PersonSummary> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException;
+
     boolean update(Person person) throws SQLException;
 
     boolean delete(Integer id) throws SQLException;
 
     List<Person> searchByName(String searchTerm) throws SQLException;
+
+    List<Person> searchByName(String searchTerm, int limit) throws SQLException;
+
+    List<Person> findByPhone(String phoneNumber) throws SQLException;
+
+    List<Person> findByPhoneSuffix(String digits) throws SQLException;
+
+    List<Person> findByPhoneSuffix(String digits, int limit) throws SQLException;
+
+    List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to) throws SQLException;
+
+    List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId, int limit) throws SQLException;
+
+    long getChangeVersion() throws SQLException;
+
+    ChangeSet findChangedSince(long version) throws SQLException;
+
+    ChangeSet findChangedSince(long version, int limit) throws SQLException;
+
+    Stream<Person> streamAll(int fetchSize) throws SQLException;
+
+    Stream<Person> streamByName(String searchTerm, int fetchSize) throws SQLException;
 }
\ No newline at end of file
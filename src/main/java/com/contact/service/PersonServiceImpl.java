@@ -1,23 +1,23 @@
 package com.contact.service;
 
 import java.sql.SQLException;
+import java.time.MonthDay;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import com.contact.dao.ChangeSet;
+import com.contact.dao.OptimisticLockException;
 import com.contact.dao.PersonDAO;
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
 
 public class PersonServiceImpl implements PersonService {
 
-    private final PersonDAO personDAO;
-
+    private static final int DEFAULT_PHONE_SUFFIX_LIMIT = 100;
 
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
-    private static final Pattern PHONE_PATTERN =
-            Pattern.compile("^[0-9+()\\-\\s]{6,20}$");
+    private final PersonDAO personDAO;
 
     public PersonServiceImpl(PersonDAO personDAO) {
         this.personDAO = Objects.requireNonNull(personDAO);
@@ -33,7 +33,7 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public Person create(Person person) throws SQLException {
-        validate(person);
+        PersonValidator.validate(person);
 
 
         if (existsDuplicate(person, null)) {
@@ -66,12 +66,45 @@ public class PersonServiceImpl implements PersonService {
         return personDAO.findAll();
     }
 
+    /**
+     * Retrieves one page of persons ordered by lastname, firstname and id.
+     * @param afterLastname lastname of the last person of the previous page
+     * @param afterFirstname firstname of the last person of the previous page
+     * @param afterId id of the last person of the previous page, or null for the first page
+     * @param limit maximum number of persons to return
+     * @return the persons that follow the given key
+     * @throws IllegalArgumentException if limit is not positive
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<Person> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException {
+        if (limit <= 0) throw new IllegalArgumentException("Page size must be positive");
+        return personDAO.findPage(afterLastname, afterFirstname, afterId, limit);
+    }
+
+    /**
+     * Retrieves one page of the columns shown in the contact list, in the same order as {@link #findPage}.
+     * @param afterLastname lastname of the last person of the previous page
+     * @param afterFirstname firstname of the last person of the previous page
+     * @param afterId id of the last person of the previous page, or null for the first page
+     * @param limit maximum number of persons to return
+     * @return summaries of the persons that follow the given key
+     * @throws IllegalArgumentException if limit is not positive
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<PersonSummary> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) throws SQLException {
+        if (limit <= 0) throw new IllegalArgumentException("Page size must be positive");
+        return personDAO.findSummaryPage(afterLastname, afterFirstname, afterId, limit);
+    }
+
     /**
      * Updates a person, after validating the input data, ensuring a valid id, and checking no duplicates 
      * @param person the person to be updated
      * @return true if update was successful, false if not
      * @throws IllegalArgumentException if person or id is null 
      * @throws IllegalStateException if a duplicate person exists
+     * @throws OptimisticLockException if the person was changed by someone else since it was read
      * @throws SQLException if a database access error occurs
      */
     @Override
@@ -82,7 +115,7 @@ public class PersonServiceImpl implements PersonService {
             throw new IllegalArgumentException("Person id is required for update");
         }
 
-        validate(person);
+        PersonValidator.validate(person);
 
         if (existsDuplicate(person, person.getIdperson())) {
             throw new IllegalStateException("Duplicate person (same firstname + lastname)");
@@ -121,78 +154,193 @@ public class PersonServiceImpl implements PersonService {
         return personDAO.searchPersonByName(q);
     }
 
+    /**
+     * Search for persons by name, returning at most limit results ordered by relevance
+     * @param searchTerm the text to look for, matched as a substring ignoring case
+     * @param limit maximum number of persons to return
+     * @return List with the best matching persons, or the first page of persons if the term is blank
+     * @throws IllegalArgumentException if limit is not positive
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<Person> searchByName(String searchTerm, int limit) throws SQLException {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        String q = (searchTerm == null) ? "" : searchTerm.trim();
 
+        if (q.isEmpty()) {
+            return findPage(null, null, null, limit);
+        }
+
+        return personDAO.searchPersonByName(q, limit);
+    }
 
     /**
-     * Validates all the information a person 
-     * validates fields are not blank
-     * verifies phone number and email formats
-     * @param person to be added
-     * @throws IllegalArgumentException if the person is null,
-     * required fields are blank, or the email or phone format is invalid
-     * 
+     * Finds the persons with the given phone number, ignoring spaces, dashes and other separators
+     * @param phoneNumber the number to look for
+     * @return the persons whose number has the same digits
+     * @throws IllegalArgumentException if the number contains no digit
+     * @throws SQLException if a database access error occurs
      */
-    private void validate(Person p) {
-        if (p == null) throw new IllegalArgumentException("Person cannot be null");
+    @Override
+    public List<Person> findByPhone(String phoneNumber) throws SQLException {
+        requireDigits(phoneNumber);
+        return personDAO.findByPhone(phoneNumber);
+    }
 
-        requireNotBlank(p.getLastname(), "Lastname is required");
-        requireNotBlank(p.getFirstname(), "Firstname is required");
-        requireNotBlank(p.getNickname(), "Nickname is required");
+    /**
+     * Finds the persons whose phone number ends with the given digits, such as the last four
+     * @param digits the end of the number; separators are ignored
+     * @return at most 100 matching persons
+     * @throws IllegalArgumentException if digits contains no digit
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<Person> findByPhoneSuffix(String digits) throws SQLException {
+        return findByPhoneSuffix(digits, DEFAULT_PHONE_SUFFIX_LIMIT);
+    }
 
-        if (notBlank(p.getEmailAddress()) && !EMAIL_PATTERN.matcher(p.getEmailAddress().trim()).matches()) {
-            throw new IllegalArgumentException("Invalid email format");
-        }
+    /**
+     * Finds the persons whose phone number ends with the given digits, returning at most limit results
+     * @param digits the end of the number; separators are ignored
+     * @param limit maximum number of persons to return
+     * @return the matching persons, ordered by their reversed number
+     * @throws IllegalArgumentException if digits contains no digit or limit is not positive
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<Person> findByPhoneSuffix(String digits, int limit) throws SQLException {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        requireDigits(digits);
+        return personDAO.findByPhoneSuffix(digits, limit);
+    }
 
-        if (notBlank(p.getPhoneNumber()) && !PHONE_PATTERN.matcher(p.getPhoneNumber().trim()).matches()) {
-            throw new IllegalArgumentException("Invalid phone number format");
+    /**
+     * Finds every person whose birthday falls between two days of the year, both included
+     * @param from first day of the period
+     * @param to last day of the period; if it comes before from, the period runs over New Year
+     * @return the persons in birthday order, starting with from
+     * @throws IllegalArgumentException if from or to is null
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to) throws SQLException {
+        return findBirthdaysBetween(from, to, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves one page of the persons whose birthday falls between two days of the year
+     * @param from first day of the period
+     * @param to last day of the period; if it comes before from, the period runs over New Year
+     * @param afterDay birthday of the last person of the previous page, or null for the first page
+     * @param afterId id of the last person of the previous page, or null for the first page
+     * @param limit maximum number of persons to return
+     * @return the persons that follow the given key, in birthday order
+     * @throws IllegalArgumentException if from or to is null, limit is not positive,
+     *         or only one of afterDay and afterId is given
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId,
+                                                    int limit) throws SQLException {
+        if (from == null || to == null) throw new IllegalArgumentException("Period must have a start and an end");
+        if (limit <= 0) throw new IllegalArgumentException("Page size must be positive");
+        if ((afterDay == null) != (afterId == null)) {
+            throw new IllegalArgumentException("Page key needs both a birthday and an id");
         }
+        return personDAO.findBirthdaysBetween(from, to, afterDay, afterId, limit);
     }
 
     /**
-     * Method to check an existing duplicate of a person 
-     * @param candidate the person to be check
-     * @param idToIgnore the value of the id input
-     * @return true if the person already exist
+     * Retrieves the current version of the person table
+     * @return the version of the latest change, or 0 if nothing changed yet
      * @throws SQLException if a database access error occurs
      */
-    private boolean existsDuplicate(Person candidate, Integer idToIgnore) throws SQLException {
-        String fn = safeLower(candidate.getFirstname());
-        String ln = safeLower(candidate.getLastname());
+    @Override
+    public long getChangeVersion() throws SQLException {
+        return personDAO.getChangeVersion();
+    }
+
+    /**
+     * Retrieves the persons created, updated or deleted after a version
+     * @param version a version returned by getChangeVersion or by a previous change set
+     * @return the changes, with the version to ask from next time
+     * @throws IllegalArgumentException if version is negative
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public ChangeSet findChangedSince(long version) throws SQLException {
+        if (version < 0) throw new IllegalArgumentException("Version cannot be negative");
+        return personDAO.findChangedSince(version);
+    }
+
+    /**
+     * Retrieves the changes made after a version, unless there are more than limit of them
+     * @param version a version returned by getChangeVersion or by a previous change set
+     * @param limit maximum number of changes to return
+     * @return the changes, or a truncated change set if there are more than limit
+     * @throws IllegalArgumentException if version is negative or limit is not positive
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public ChangeSet findChangedSince(long version, int limit) throws SQLException {
+        if (version < 0) throw new IllegalArgumentException("Version cannot be negative");
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        return personDAO.findChangedSince(version, limit);
+    }
 
-        return personDAO.findAll().stream().anyMatch(p ->
-                (idToIgnore == null || !Objects.equals(p.getIdperson(), idToIgnore))
-                        && safeLower(p.getFirstname()).equals(fn)
-                        && safeLower(p.getLastname()).equals(ln)
-        );
+    private static void requireDigits(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.chars().noneMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("Phone number must contain digits");
+        }
     }
-    
+
     /**
-     * check that string is not null, empty, or blank.
-     * @param s the string to validate
-     * @param message the exception message to use if the validation fails
-     * @throws IllegalArgumentException if the string is null, empty, or contains only whitespace
+     * Streams every person in name order without loading them all into memory.
+     * The stream holds a database connection until it is closed, so use it in a
+     * try-with-resources block.
+     * @param fetchSize how many rows to read from the database at a time
+     * @return a lazy stream of all persons
+     * @throws IllegalArgumentException if fetchSize is not positive
+     * @throws SQLException if a database access error occurs
      */
-    private static void requireNotBlank(String s, String message) {
-        if (!notBlank(s)) throw new IllegalArgumentException(message);
+    @Override
+    public Stream<Person> streamAll(int fetchSize) throws SQLException {
+        if (fetchSize <= 0) throw new IllegalArgumentException("Fetch size must be positive");
+        return personDAO.streamAll(fetchSize);
     }
 
     /**
-     * Checks if a string is not null and contains at least one non-whitespace character.
-     *
-     * @param s the string to check
-     * @return true if the string is not null and not blank, false otherwise
+     * Streams every person matching the search term, ordered by relevance.
+     * The stream holds a database connection until it is closed.
+     * @param searchTerm the text to look for, matched as a substring ignoring case
+     * @param fetchSize how many rows to read from the database at a time
+     * @return a lazy stream of the matching persons, or of all persons if the term is blank
+     * @throws IllegalArgumentException if fetchSize is not positive
+     * @throws SQLException if a database access error occurs
      */
-    private static boolean notBlank(String s) {
-        return s != null && !s.trim().isEmpty();
+    @Override
+    public Stream<Person> streamByName(String searchTerm, int fetchSize) throws SQLException {
+        if (fetchSize <= 0) throw new IllegalArgumentException("Fetch size must be positive");
+        String q = (searchTerm == null) ? "" : searchTerm.trim();
+
+        if (q.isEmpty()) {
+            return personDAO.streamAll(fetchSize);
+        }
+
+        return personDAO.streamSearch(q, fetchSize);
     }
 
+
+
     /**
-     * Returns a short lowercase version of the string.
-     * If the string is null, returns an empty string instead.
-     * @param s the string to normalize
-     * @return a lowercase trimmed string, or an empty string if null
+     * Method to check an existing duplicate of a person, using the indexed name lookup
+     * of the DAO instead of loading every person
+     * @param candidate the person to be check
+     * @param idToIgnore the value of the id input
+     * @return true if the person already exist
+     * @throws SQLException if a database access error occurs
      */
-    private static String safeLower(String s) {
-        return (s == null) ? "" : s.trim().toLowerCase();
+    private boolean existsDuplicate(Person candidate, Integer idToIgnore) throws SQLException {
+        return personDAO.existsByName(candidate.getFirstname(), candidate.getLastname(), idToIgnore);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.contact.service;
+
+import java.util.regex.Pattern;
+
+import com.contact.model.Person;
+
+/**
+ * Field rules every saved person must satisfy, shared by {@link PersonServiceImpl}
+ * and the bulk importer.
+ */
+public final class PersonValidator {
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    private static final Pattern PHONE_PATTERN =
+            Pattern.compile("^[0-9+()\\-\\s]{6,20}$");
+
+    private PersonValidator() {
+    }
+
+    /**
+     * Validates all the information a person
+     * validates fields are not blank
+     * verifies phone number and email formats
+     * @param p the person to check
+     * @throws IllegalArgumentException if the person is null,
+     * required fields are blank, or the email or phone format is invalid
+     */
+    public static void validate(Person p) {
+        if (p == null) throw new IllegalArgumentException("Person cannot be null");
+
+        requireNotBlank(p.getLastname(), "Lastname is required");
+        requireNotBlank(p.getFirstname(), "Firstname is required");
+        requireNotBlank(p.getNickname(), "Nickname is required");
+
+        if (notBlank(p.getEmailAddress()) && !EMAIL_PATTERN.matcher(p.getEmailAddress().trim()).matches()) {
+            throw new IllegalArgumentException("Invalid email format");
+        }
+
+        if (notBlank(p.getPhoneNumber()) && !PHONE_PATTERN.matcher(p.getPhoneNumber().trim()).matches()) {
+            throw new IllegalArgumentException("Invalid phone number format");
+        }
+    }
+
+    /**
+     * check that string is not null, empty, or blank.
+     * @param s the string to validate
+     * @param message the exception message to use if the validation fails
+     * @throws IllegalArgumentException if the string is null, empty, or contains only whitespace
+     */
+    private static void requireNotBlank(String s, String message) {
+        if (!notBlank(s)) throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * Checks if a string is not null and contains at least one non-whitespace character.
+     *
+     * @param s the string to check
+     * @return true if the string is not null and not blank, false otherwise
+     */
+    private static boolean notBlank(String s) {
+        return s != null && !s.trim().isEmpty();
+    }
+}
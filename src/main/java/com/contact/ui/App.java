@@ -1,25 +1,48 @@
 package com.contact.ui;
 
-import java.sql.SQLException;
-
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntPredicate;
+import java.util.function.Consumer;
+
+import com.contact.dao.CachingPersonDAO;
+import com.contact.dao.PersonDAO;
 import com.contact.dao.PersonDAOImpl;
+import com.contact.io.ContactImporter;
+import com.contact.io.ExportFormat;
+import com.contact.io.ImportReport;
+import com.contact.metrics.MetricsRegistry;
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import com.contact.service.AsyncPersonService;
+import com.contact.service.AsyncPersonServiceImpl;
+import com.contact.service.DatabaseChangeWatcher;
 import com.contact.service.PersonService;
 import com.contact.service.PersonServiceImpl;
+import com.contact.util.DatabaseConnection;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextArea;
 import javafx.scene.control.SeparatorMenuItem;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -29,17 +52,44 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 public class App extends Application {
 
-    private ObservableList<Person> personList = FXCollections.observableArrayList();
-    private FilteredList<Person> filteredList;
-    private TableView<Person> table = new TableView<>();
+    private ObservableList<PersonSummary> personList = new ColumnarPersonList();
+    private FilteredList<PersonSummary> filteredList;
+    private TableView<PersonSummary> table = new TableView<>();
     private PersonFormController formController;
     private Label statsLabel;
-    private PersonService personService;
+    private AsyncPersonService personService;
+    private PersonService blockingService; // for background tasks that stream from the database
+    private PersonPager pager;
+    private final PersonSearchIndex searchIndex = new PersonSearchIndex();
+    private final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private SearchPipeline<SearchResult> searchPipeline;
+    private Task<?> transfer;
+    private Label transferLabel;
+    private ProgressBar transferBar;
+    private MenuItem importItem;
+    private MenuItem exportItem;
+    private ContactImporter importer;
+    private DatabaseChangeWatcher changeWatcher;
+
+    private static final int SEARCH_LIMIT = 500;
+    private static final Duration METRICS_REPORT_INTERVAL =
+            Duration.ofSeconds(Long.getLong("contact.metrics.reportIntervalSeconds", 60L));
+    /** How often to look for changes made by other processes; 0 or less turns watching off. */
+    private static final Duration CHANGE_POLL_INTERVAL =
+            Duration.ofMillis(Long.getLong("contact.changes.pollIntervalMillis", 2000L));
+
+    /**
+     * Outcome of a search: either a filter over the loaded rows, or the rows
+     * found by the database when not every contact is loaded yet.
+     */
+    private record SearchResult(IntPredicate matches, List<PersonSummary> found) {}
     private Stage primaryStage;
+    private Stage birthdaysStage;
     private StackPane rootStack;
     private VBox homeView;
     private VBox managerView;
@@ -49,11 +99,31 @@ public class App extends Application {
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
         primaryStage.setTitle("Contact App");
-        personService = new PersonServiceImpl(new PersonDAOImpl());
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        CachingPersonDAO personDAO = new CachingPersonDAO(
+                metrics.instrument(PersonDAO.class, new PersonDAOImpl(), "dao"));
+        metrics.gauge("cache.size", personDAO::size);
+        metrics.gauge("cache.hits", personDAO::getHitCount);
+        metrics.gauge("cache.misses", personDAO::getMissCount);
+        metrics.gauge("cache.evictions", personDAO::getEvictionCount);
+        importer = new ContactImporter(personDAO);
+        blockingService = metrics.instrument(PersonService.class, new PersonServiceImpl(personDAO), "service");
+        personService = new AsyncPersonServiceImpl(blockingService);
+        if (!METRICS_REPORT_INTERVAL.isZero()) {
+            metrics.startReporter(METRICS_REPORT_INTERVAL);
+        }
+        pager = new PersonPager(personService, personList, PersonPager.DEFAULT_PAGE_SIZE);
 
+        searchIndex.attach(personList);
         loadPersons();
+        if (!CHANGE_POLL_INTERVAL.isNegative() && !CHANGE_POLL_INTERVAL.isZero()) {
+            changeWatcher = new DatabaseChangeWatcher(blockingService, CHANGE_POLL_INTERVAL,
+                    Platform::runLater, version -> pager.refreshFromWatcher());
+            changeWatcher.start();
+        }
         filteredList = new FilteredList<>(personList, p -> true);
-        formController = new PersonFormController(personList);
+        formController = new PersonFormController(personList, personService);
+        formController.setPager(pager);
 
         // Home page
         homeView = buildHomeView();
@@ -82,10 +152,17 @@ public class App extends Application {
         MenuItem homeItem = new MenuItem("Home");
         homeItem.setOnAction(e -> showHome());
         MenuItem refreshItem = new MenuItem("Refresh");
-        refreshItem.setOnAction(e -> loadPersons());
+        refreshItem.setOnAction(e -> pager.refresh());
+        importItem = new MenuItem("Import...");
+        importItem.setOnAction(e -> importContacts());
+        exportItem = new MenuItem("Export...");
+        exportItem.setOnAction(e -> exportContacts());
+        MenuItem birthdaysItem = new MenuItem("Upcoming Birthdays...");
+        birthdaysItem.setOnAction(e -> showBirthdays());
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> primaryStage.close());
-        fileMenu.getItems().addAll(homeItem, new SeparatorMenuItem(), refreshItem, new SeparatorMenuItem(), exitItem);
+        fileMenu.getItems().addAll(homeItem, new SeparatorMenuItem(), refreshItem, importItem, exportItem,
+                birthdaysItem, new SeparatorMenuItem(), exitItem);
 
         Menu helpMenu = new Menu("Help");
         MenuItem aboutItem = new MenuItem("About");
@@ -99,17 +176,8 @@ public class App extends Application {
         searchField.setPromptText("\uD83D\uDD0D  Search contacts...");
         searchField.getStyleClass().add("search-field");
         searchField.setPrefWidth(240);
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            String lower = newVal == null ? "" : newVal.toLowerCase().trim();
-            filteredList.setPredicate(p -> {
-                if (lower.isEmpty()) return true;
-                return (p.getFullName() != null && p.getFullName().toLowerCase().contains(lower))
-                    || (p.getNickname() != null && p.getNickname().toLowerCase().contains(lower))
-                    || (p.getPhoneNumber() != null && p.getPhoneNumber().toLowerCase().contains(lower))
-                    || (p.getEmailAddress() != null && p.getEmailAddress().toLowerCase().contains(lower));
-            });
-            updateStats();
-        });
+        searchPipeline = new SearchPipeline<>(SearchPipeline.DEFAULT_DELAY, this::runSearch, this::showSearchResult);
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchPipeline.submit(newVal));
 
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
@@ -130,42 +198,48 @@ public class App extends Application {
 
         Button refreshBtn = new Button("\u21BB Refresh");
         refreshBtn.getStyleClass().add("btn-refresh");
-        refreshBtn.setOnAction(e -> loadPersons());
+        refreshBtn.setOnAction(e -> pager.refresh());
 
         HBox toolbar = new HBox(12, searchField, spacer, refreshBtn, addBtn, editBtn, deleteBtn);
         toolbar.setAlignment(Pos.CENTER_LEFT);
         toolbar.setPadding(new Insets(16, 24, 12, 24));
 
         table.setItems(filteredList);
+        pager.attach(table);
         table.setPlaceholder(new Label("No contacts found"));
 
-        TableColumn<Person, String> idCol = new TableColumn<>("ID");
+        TableColumn<PersonSummary, String> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(c -> new SimpleStringProperty(
-                String.valueOf(c.getValue().getIdperson())));
+                String.valueOf(c.getValue().idperson())));
         idCol.setPrefWidth(50);
         idCol.setMaxWidth(60);
 
-        TableColumn<Person, String> nameCol = new TableColumn<>("Full Name");
+        TableColumn<PersonSummary, String> nameCol = new TableColumn<>("Full Name");
         nameCol.setCellValueFactory(c -> new SimpleStringProperty(
-                c.getValue().getFullName()));
+                c.getValue().fullName()));
         nameCol.setPrefWidth(170);
 
-        TableColumn<Person, String> nickCol = new TableColumn<>("Nickname");
+        TableColumn<PersonSummary, String> nickCol = new TableColumn<>("Nickname");
         nickCol.setCellValueFactory(c -> new SimpleStringProperty(
-                c.getValue().getNickname()));
+                c.getValue().nickname()));
         nickCol.setPrefWidth(100);
 
-        TableColumn<Person, String> phoneCol = new TableColumn<>("Phone");
+        TableColumn<PersonSummary, String> phoneCol = new TableColumn<>("Phone");
         phoneCol.setCellValueFactory(c -> new SimpleStringProperty(
-                c.getValue().getPhoneNumber() != null ? c.getValue().getPhoneNumber() : "—"));
+                c.getValue().phoneNumber() != null ? c.getValue().phoneNumber() : "—"));
         phoneCol.setPrefWidth(110);
 
-        TableColumn<Person, String> emailCol = new TableColumn<>("Email");
+        TableColumn<PersonSummary, String> emailCol = new TableColumn<>("Email");
         emailCol.setCellValueFactory(c -> new SimpleStringProperty(
-                c.getValue().getEmailAddress() != null ? c.getValue().getEmailAddress() : "—"));
+                c.getValue().emailAddress() != null ? c.getValue().emailAddress() : "—"));
         emailCol.setPrefWidth(190);
 
-        table.getColumns().addAll(idCol, nameCol, nickCol, phoneCol, emailCol);
+        TableColumn<PersonSummary, String> birthCol = new TableColumn<>("Birthday");
+        birthCol.setCellValueFactory(c -> new SimpleStringProperty(
+                c.getValue().birthDate() != null ? c.getValue().birthDate().toString() : "—"));
+        birthCol.setPrefWidth(100);
+
+        table.getColumns().addAll(idCol, nameCol, nickCol, phoneCol, emailCol, birthCol);
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
         // Handle table selection events: enable/disable Edit and Delete when selection changes
@@ -180,7 +254,15 @@ public class App extends Application {
         statsLabel = new Label();
         statsLabel.getStyleClass().add("stats-label");
         updateStats();
-        HBox statsBar = new HBox(statsLabel);
+        transferLabel = new Label();
+        transferLabel.getStyleClass().add("stats-label");
+        transferBar = new ProgressBar();
+        transferBar.setPrefWidth(140);
+        Region statsSpacer = new Region();
+        HBox.setHgrow(statsSpacer, Priority.ALWAYS);
+        HBox statsBar = new HBox(8, statsLabel, statsSpacer, transferLabel, transferBar);
+        statsBar.setAlignment(Pos.CENTER_LEFT);
+        showTransfer(false);
         statsBar.setPadding(new Insets(8, 24, 12, 24));
 
         VBox content = new VBox(8, toolbar, tableCard, statsBar);
@@ -202,7 +284,14 @@ public class App extends Application {
         primaryStage.setMinHeight(500);
         primaryStage.show();
 
-        personList.addListener((javafx.collections.ListChangeListener<Person>) c -> updateStats());
+        personList.addListener((javafx.collections.ListChangeListener<PersonSummary>) c -> {
+            // Rows added while a search is active were filtered with the previous result
+            if (!searchPipeline.getQuery().isBlank()) {
+                searchPipeline.submit(searchPipeline.getQuery());
+            }
+            updateStats();
+        });
+        pager.hasMoreProperty().addListener((obs, oldVal, newVal) -> updateStats());
     }
 
     private VBox buildHomeView() {
@@ -230,22 +319,186 @@ public class App extends Application {
         managerView.setManaged(true);
     }
 
+    /**
+     * Starts a search in the background. Once every contact is loaded the in-memory index
+     * answers; before that only the database knows about the rows not loaded yet. Both
+     * match substrings the same way, so the result does not change when loading ends.
+     */
+    private CompletableFuture<SearchResult> runSearch(String query) {
+        if (query.isBlank()) {
+            return CompletableFuture.completedFuture(new SearchResult(id -> true, null));
+        }
+        if (!pager.hasMore()) {
+            return CompletableFuture.supplyAsync(
+                    () -> new SearchResult(searchIndex.search(query), null), searchExecutor);
+        }
+        CompletableFuture<List<Person>> found = personService.searchByName(query, SEARCH_LIMIT);
+        CompletableFuture<SearchResult> result = found.thenApply(persons ->
+                new SearchResult(null, persons.stream().map(PersonSummary::of).toList()));
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) found.cancel(true);
+        });
+        return result;
+    }
+
+    private void showSearchResult(String query, SearchResult result) {
+        if (result.found() != null) {
+            table.setItems(FXCollections.observableArrayList(result.found()));
+        } else {
+            filteredList.setPredicate(p -> result.matches().test(p.idperson()));
+            if (table.getItems() != filteredList) {
+                table.setItems(filteredList);
+            }
+        }
+        updateStats();
+    }
+
     private void updateStats() {
         int total = personList.size();
-        int shown = filteredList.size();
+        int shown = table.getItems().size();
+        if (table.getItems() != filteredList) {
+            statsLabel.setText(shown + " matching contact" + (shown != 1 ? "s" : ""));
+            return;
+        }
+        String more = pager.hasMore() ? "+" : "";
         if (total == shown) {
-            statsLabel.setText(total + " contact" + (total != 1 ? "s" : ""));
+            statsLabel.setText(total + more + " contact" + (total != 1 || pager.hasMore() ? "s" : ""));
         } else {
-            statsLabel.setText(shown + " of " + total + " contacts");
+            statsLabel.setText(shown + " of " + total + more + " contacts");
         }
     }
 
     private void loadPersons() {
-        try {
-            personList.setAll(personService.findAll());
-        } catch (SQLException e) {
-            e.printStackTrace();
+        pager.reset();
+    }
+
+    /**
+     * Exports the whole address book, or the current search result, to a CSV or vCard file.
+     */
+    private void exportContacts() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Contacts");
+        for (ExportFormat format : ExportFormat.values()) {
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                    format.getDisplayName() + " (*." + format.getExtension() + ")", "*." + format.getExtension()));
         }
+        // no extension: the format is only known once a filter is chosen
+        chooser.setInitialFileName("contacts");
+        File file = chooser.showSaveDialog(primaryStage);
+        if (file == null) return;
+
+        // some platforms report no selected filter; fall back to the name the user typed
+        int selected = chooser.getExtensionFilters().indexOf(chooser.getSelectedExtensionFilter());
+        ExportFormat format = selected >= 0
+                ? ExportFormat.values()[selected]
+                : ExportFormat.forFileName(file.getName()).orElse(ExportFormat.CSV);
+        file = new File(file.getParentFile(), format.withExtension(file.getName()));
+        // same substring matching as the table, whether it is fully loaded or not
+        String query = searchPipeline.getQuery();
+        long expected = query.isBlank() && !pager.hasMore() ? personList.size() : -1;
+        ExportTask task = new ExportTask(() -> blockingService.streamByName(query, 500), file.toPath(), format, expected);
+        runTransfer(task, "Export", count -> showTransferResult(Alert.AlertType.INFORMATION, "Export",
+                task.getMessage(), null));
+    }
+
+    /**
+     * Imports a CSV or vCard file in the background, then refreshes the list and shows
+     * which records were rejected.
+     */
+    private void importContacts() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Contacts");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Contacts (*.csv, *.vcf)", "*.csv", "*.vcf"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        File file = chooser.showOpenDialog(primaryStage);
+        if (file == null) return;
+
+        runTransfer(new ImportTask(importer, file.toPath()), "Import", report -> {
+            pager.refresh();
+            String summary = String.format("Imported %d of %d contacts in %.1f s.",
+                    report.imported(), report.read(), report.elapsed().toMillis() / 1000.0);
+            if (report.rejected().isEmpty()) {
+                showTransferResult(Alert.AlertType.INFORMATION, "Import", summary, null);
+                return;
+            }
+            StringBuilder details = new StringBuilder();
+            report.rejected().stream().limit(10_000).forEach(error -> details.append(error).append('\n'));
+            if (report.rejected().size() > 10_000) {
+                details.append("...");
+            }
+            showTransferResult(Alert.AlertType.WARNING, "Import",
+                    summary + "\n" + report.rejected().size() + " records were rejected.", details.toString());
+        });
+    }
+
+    /**
+     * Runs a long file transfer on a virtual thread, showing its progress in the status bar.
+     */
+    private <T> void runTransfer(Task<T> task, String title, Consumer<T> onSucceeded) {
+        transfer = task;
+        importItem.setDisable(true);
+        exportItem.setDisable(true);
+        transferLabel.textProperty().bind(task.messageProperty());
+        transferBar.progressProperty().bind(task.progressProperty());
+        showTransfer(true);
+
+        task.setOnSucceeded(e -> {
+            finishTransfer();
+            onSucceeded.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            finishTransfer();
+            showTransferResult(Alert.AlertType.ERROR, title + " failed",
+                    String.valueOf(task.getException().getMessage()), null);
+        });
+        task.setOnCancelled(e -> finishTransfer());
+        Thread.ofVirtual().name("contact-" + title.toLowerCase()).start(task);
+    }
+
+    private void finishTransfer() {
+        transfer = null;
+        importItem.setDisable(false);
+        exportItem.setDisable(false);
+        transferLabel.textProperty().unbind();
+        transferBar.progressProperty().unbind();
+        showTransfer(false);
+    }
+
+    private void showTransferResult(Alert.AlertType type, String title, String message, String details) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        if (details != null) {
+            TextArea area = new TextArea(details);
+            area.setEditable(false);
+            alert.getDialogPane().setExpandableContent(area);
+        }
+        alert.show();
+    }
+
+    private void showTransfer(boolean visible) {
+        transferLabel.setVisible(visible);
+        transferBar.setVisible(visible);
+    }
+
+    /**
+     * Opens the upcoming birthdays report in its own window, or brings it to the front.
+     */
+    private void showBirthdays() {
+        if (birthdaysStage == null) {
+            birthdaysStage = new Stage();
+            birthdaysStage.setTitle("Upcoming Birthdays");
+            birthdaysStage.initOwner(primaryStage);
+            Scene scene = new Scene(new BirthdayPane(personService, BirthdayPane.DEFAULT_PAGE_SIZE), 560, 480);
+            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
+            birthdaysStage.setScene(scene);
+        } else if (birthdaysStage.getScene().getRoot() instanceof BirthdayPane pane) {
+            pane.reload();
+        }
+        birthdaysStage.show();
+        birthdaysStage.toFront();
     }
 
     private void showAbout() {
@@ -258,6 +511,20 @@ public class App extends Application {
         alert.showAndWait();
     }
 
+    @Override
+    public void stop() {
+        MetricsRegistry.getInstance().stopReporter();
+        if (changeWatcher != null) {
+            changeWatcher.close();
+        }
+        if (transfer != null) {
+            transfer.cancel(true);
+        }
+        searchExecutor.shutdownNow();
+        personService.close();
+        DatabaseConnection.getInstance().shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,178 @@
+package com.contact.ui;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.contact.model.PersonSummary;
+import com.contact.service.AsyncPersonService;
+
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.util.StringConverter;
+
+/**
+ * Upcoming birthdays report: the contacts whose birthday falls in the next days,
+ * soonest first. Rows are loaded a page at a time with
+ * {@link AsyncPersonService#findBirthdaysBetween}, which reads them from the birth_md index.
+ */
+public class BirthdayPane extends VBox {
+    private static final System.Logger LOG = System.getLogger(BirthdayPane.class.getName());
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("MMM d");
+
+    private final AsyncPersonService personService;
+    private final int pageSize;
+    private final ObservableList<PersonSummary> birthdays = FXCollections.observableArrayList();
+    private final ComboBox<Integer> period = new ComboBox<>(FXCollections.observableArrayList(7, 30, 90));
+    private final Button moreBtn = new Button("Load more");
+    private final Label countLabel = new Label();
+
+    private LocalDate today;
+    private MonthDay from;
+    private MonthDay to;
+    private PersonSummary last;
+    private CompletableFuture<List<PersonSummary>> pending;
+
+    public BirthdayPane(AsyncPersonService personService, int pageSize) {
+        this.personService = personService;
+        this.pageSize = pageSize;
+        setSpacing(12);
+        setPadding(new Insets(16, 20, 16, 20));
+
+        Label title = new Label("Upcoming Birthdays");
+        title.getStyleClass().add("form-title");
+
+        period.setValue(30);
+        period.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Integer days) {
+                return days == null ? "" : "Next " + days + " days";
+            }
+
+            @Override
+            public Integer fromString(String text) {
+                return null;
+            }
+        });
+        period.setOnAction(e -> reload());
+
+        Button refreshBtn = new Button("↻ Refresh");
+        refreshBtn.getStyleClass().add("btn-refresh");
+        refreshBtn.setOnAction(e -> reload());
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox toolbar = new HBox(12, title, spacer, period, refreshBtn);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+
+        TableView<PersonSummary> table = new TableView<>(birthdays);
+        table.setPlaceholder(new Label("No birthdays in this period"));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        TableColumn<PersonSummary, String> dayCol = new TableColumn<>("Birthday");
+        dayCol.setCellValueFactory(c -> new SimpleStringProperty(
+                DAY_FORMAT.format(c.getValue().birthDate())));
+        dayCol.setPrefWidth(80);
+
+        TableColumn<PersonSummary, String> inCol = new TableColumn<>("In");
+        inCol.setCellValueFactory(c -> new SimpleStringProperty(daysUntil(c.getValue())));
+        inCol.setPrefWidth(80);
+
+        TableColumn<PersonSummary, String> nameCol = new TableColumn<>("Full Name");
+        nameCol.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().fullName()));
+        nameCol.setPrefWidth(170);
+
+        TableColumn<PersonSummary, String> ageCol = new TableColumn<>("Turns");
+        ageCol.setCellValueFactory(c -> new SimpleStringProperty(
+                String.valueOf(nextBirthday(c.getValue()).getYear() - c.getValue().birthDate().getYear())));
+        ageCol.setPrefWidth(60);
+
+        TableColumn<PersonSummary, String> phoneCol = new TableColumn<>("Phone");
+        phoneCol.setCellValueFactory(c -> new SimpleStringProperty(
+                c.getValue().phoneNumber() != null ? c.getValue().phoneNumber() : "—"));
+        phoneCol.setPrefWidth(110);
+
+        table.getColumns().addAll(dayCol, inCol, nameCol, ageCol, phoneCol);
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        countLabel.getStyleClass().add("stats-label");
+        moreBtn.setOnAction(e -> loadNextPage());
+        Region footerSpacer = new Region();
+        HBox.setHgrow(footerSpacer, Priority.ALWAYS);
+        HBox footer = new HBox(8, countLabel, footerSpacer, moreBtn);
+        footer.setAlignment(Pos.CENTER_LEFT);
+
+        getChildren().addAll(toolbar, table, footer);
+        reload();
+    }
+
+    /**
+     * Starts over from today with the selected period, cancelling a page still being loaded.
+     */
+    public void reload() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        today = LocalDate.now();
+        from = MonthDay.from(today);
+        to = MonthDay.from(today.plusDays(period.getValue() - 1));
+        last = null;
+        birthdays.clear();
+        moreBtn.setDisable(false);
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (pending != null) return;
+        CompletableFuture<List<PersonSummary>> request = last == null
+                ? personService.findBirthdaysBetween(from, to, null, null, pageSize)
+                : personService.findBirthdaysBetween(from, to, MonthDay.from(last.birthDate()), last.idperson(), pageSize);
+        pending = request;
+        moreBtn.setDisable(true);
+        request.whenCompleteAsync((page, error) -> {
+            if (pending != request) return; // superseded by reload()
+            pending = null;
+            if (error != null) {
+                LOG.log(System.Logger.Level.WARNING, "Could not load birthdays", AsyncPersonService.unwrap(error));
+                moreBtn.setDisable(false);
+                return;
+            }
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+            }
+            birthdays.addAll(page);
+            moreBtn.setDisable(page.size() < pageSize);
+            int count = birthdays.size();
+            countLabel.setText(count + (page.size() < pageSize ? "" : "+") + " birthday" + (count != 1 ? "s" : ""));
+        }, Platform::runLater);
+    }
+
+    private LocalDate nextBirthday(PersonSummary person) {
+        LocalDate next = person.birthDate().withYear(today.getYear());
+        return next.isBefore(today) ? person.birthDate().withYear(today.getYear() + 1) : next;
+    }
+
+    private String daysUntil(PersonSummary person) {
+        long days = ChronoUnit.DAYS.between(today, nextBirthday(person));
+        return days == 0 ? "Today" : days == 1 ? "Tomorrow" : days + " days";
+    }
+}
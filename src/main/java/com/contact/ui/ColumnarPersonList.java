@@ -0,0 +1,308 @@
+package com.contact.ui;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import com.contact.model.PersonSummary;
+
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * Observable list of contact summaries stored column by column instead of as objects.
+ *
+ * Ids and birth dates (as epoch days) live in {@code int} arrays. Names, nicknames and
+ * email domains are dictionary-encoded: each distinct value is kept once and rows hold
+ * its code, so a surname or domain shared by thousands of contacts costs four bytes per
+ * row. Only phone numbers and the local part of email addresses, which are mostly unique,
+ * are kept as strings. A {@link PersonSummary} is built when a row is read, which a
+ * {@code TableView} only does for the rows on screen.
+ *
+ * The list must only be used from one thread at a time, normally the FX thread.
+ */
+public class ColumnarPersonList extends ModifiableObservableListBase<PersonSummary> implements RandomAccess {
+
+    private static final int NONE = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Columns columns = new Columns(new Dictionary(), INITIAL_CAPACITY);
+
+    public ColumnarPersonList() {
+    }
+
+    public ColumnarPersonList(Collection<? extends PersonSummary> persons) {
+        addAll(persons);
+    }
+
+    @Override
+    public PersonSummary get(int index) {
+        Objects.checkIndex(index, columns.size);
+        return columns.get(index);
+    }
+
+    @Override
+    public int size() {
+        return columns.size;
+    }
+
+    /**
+     * @return the id of the person at the index, without building its summary
+     */
+    public int idAt(int index) {
+        Objects.checkIndex(index, columns.size);
+        return columns.ids[index];
+    }
+
+    /**
+     * @return the number of distinct names, nicknames and email domains held once for all rows
+     */
+    public int dictionarySize() {
+        return columns.dictionary.size();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends PersonSummary> persons) {
+        if (persons.isEmpty()) return false;
+        int from = columns.size;
+        columns.ensureCapacity(from + persons.size());
+        beginChange();
+        try {
+            for (PersonSummary person : persons) {
+                columns.insert(columns.size, person);
+            }
+            nextAdd(from, columns.size);
+            modCount++;
+        } finally {
+            endChange();
+        }
+        return true;
+    }
+
+    /**
+     * Drops every row at once. The removed rows stay readable for listeners through the
+     * old columns, which are swapped out rather than cleared.
+     */
+    @Override
+    public void clear() {
+        if (columns.size == 0) return;
+        Columns removed = columns;
+        columns = new Columns(new Dictionary(), INITIAL_CAPACITY);
+        beginChange();
+        try {
+            nextRemove(0, removed.view());
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, columns.size);
+        if (fromIndex == toIndex) return;
+        if (fromIndex == 0 && toIndex == columns.size) {
+            clear();
+            return;
+        }
+        Columns removed = columns.copyRange(fromIndex, toIndex);
+        columns.delete(fromIndex, toIndex);
+        beginChange();
+        try {
+            nextRemove(fromIndex, removed.view());
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    protected void doAdd(int index, PersonSummary person) {
+        Objects.checkIndex(index, columns.size + 1);
+        columns.ensureCapacity(columns.size + 1);
+        columns.insert(index, person);
+    }
+
+    @Override
+    protected PersonSummary doSet(int index, PersonSummary person) {
+        PersonSummary old = get(index);
+        columns.write(index, person);
+        return old;
+    }
+
+    @Override
+    protected PersonSummary doRemove(int index) {
+        PersonSummary old = get(index);
+        columns.delete(index, index + 1);
+        return old;
+    }
+
+    /**
+     * The column arrays of the list, sharing one dictionary. A detached copy serves as
+     * the list of removed rows in change events.
+     */
+    private static final class Columns {
+        private final Dictionary dictionary;
+        private int size;
+        private int[] ids;
+        private int[] lastnames;
+        private int[] firstnames;
+        private int[] nicknames;
+        private String[] phoneNumbers;
+        private String[] emailLocalParts;
+        private int[] emailDomains;
+        private int[] birthDays;
+
+        Columns(Dictionary dictionary, int capacity) {
+            this.dictionary = dictionary;
+            ids = new int[capacity];
+            lastnames = new int[capacity];
+            firstnames = new int[capacity];
+            nicknames = new int[capacity];
+            phoneNumbers = new String[capacity];
+            emailLocalParts = new String[capacity];
+            emailDomains = new int[capacity];
+            birthDays = new int[capacity];
+        }
+
+        PersonSummary get(int i) {
+            String local = emailLocalParts[i];
+            String email = emailDomains[i] == NONE ? local : local + '@' + dictionary.get(emailDomains[i]);
+            return new PersonSummary(ids[i], dictionary.get(lastnames[i]), dictionary.get(firstnames[i]),
+                    dictionary.get(nicknames[i]), phoneNumbers[i], email,
+                    birthDays[i] == NO_DATE ? null : LocalDate.ofEpochDay(birthDays[i]));
+        }
+
+        void insert(int index, PersonSummary person) {
+            if (index < size) {
+                shift(index, index + 1, size - index);
+            }
+            size++;
+            write(index, person);
+        }
+
+        void write(int i, PersonSummary person) {
+            ids[i] = Objects.requireNonNull(person.idperson(), "idperson");
+            lastnames[i] = dictionary.encode(person.lastname());
+            firstnames[i] = dictionary.encode(person.firstname());
+            nicknames[i] = dictionary.encode(person.nickname());
+            phoneNumbers[i] = person.phoneNumber();
+
+            String email = person.emailAddress();
+            int at = email == null ? -1 : email.lastIndexOf('@');
+            emailLocalParts[i] = at < 0 ? email : email.substring(0, at);
+            emailDomains[i] = at < 0 ? NONE : dictionary.encode(email.substring(at + 1));
+
+            LocalDate birthDate = person.birthDate();
+            birthDays[i] = birthDate == null ? NO_DATE : (int) birthDate.toEpochDay();
+        }
+
+        void delete(int from, int to) {
+            shift(to, from, size - to);
+            int newSize = size - (to - from);
+            Arrays.fill(phoneNumbers, newSize, size, null);
+            Arrays.fill(emailLocalParts, newSize, size, null);
+            size = newSize;
+        }
+
+        Columns copyRange(int from, int to) {
+            Columns copy = new Columns(dictionary, 0);
+            copy.size = to - from;
+            copy.ids = Arrays.copyOfRange(ids, from, to);
+            copy.lastnames = Arrays.copyOfRange(lastnames, from, to);
+            copy.firstnames = Arrays.copyOfRange(firstnames, from, to);
+            copy.nicknames = Arrays.copyOfRange(nicknames, from, to);
+            copy.phoneNumbers = Arrays.copyOfRange(phoneNumbers, from, to);
+            copy.emailLocalParts = Arrays.copyOfRange(emailLocalParts, from, to);
+            copy.emailDomains = Arrays.copyOfRange(emailDomains, from, to);
+            copy.birthDays = Arrays.copyOfRange(birthDays, from, to);
+            return copy;
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) return;
+            int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, newCapacity);
+            lastnames = Arrays.copyOf(lastnames, newCapacity);
+            firstnames = Arrays.copyOf(firstnames, newCapacity);
+            nicknames = Arrays.copyOf(nicknames, newCapacity);
+            phoneNumbers = Arrays.copyOf(phoneNumbers, newCapacity);
+            emailLocalParts = Arrays.copyOf(emailLocalParts, newCapacity);
+            emailDomains = Arrays.copyOf(emailDomains, newCapacity);
+            birthDays = Arrays.copyOf(birthDays, newCapacity);
+        }
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(ids, from, ids, to, length);
+            System.arraycopy(lastnames, from, lastnames, to, length);
+            System.arraycopy(firstnames, from, firstnames, to, length);
+            System.arraycopy(nicknames, from, nicknames, to, length);
+            System.arraycopy(phoneNumbers, from, phoneNumbers, to, length);
+            System.arraycopy(emailLocalParts, from, emailLocalParts, to, length);
+            System.arraycopy(emailDomains, from, emailDomains, to, length);
+            System.arraycopy(birthDays, from, birthDays, to, length);
+        }
+
+        /**
+         * @return a read-only list over these columns
+         */
+        List<PersonSummary> view() {
+            return new ReadOnlyView(this, size);
+        }
+    }
+
+    private static final class ReadOnlyView extends AbstractList<PersonSummary> implements RandomAccess {
+        private final Columns columns;
+        private final int size;
+
+        ReadOnlyView(Columns columns, int size) {
+            this.columns = columns;
+            this.size = size;
+        }
+
+        @Override
+        public PersonSummary get(int index) {
+            Objects.checkIndex(index, size);
+            return columns.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Append-only table of distinct strings. A value is never removed while the list
+     * lives; {@link #clear()} starts over with a new dictionary.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) return NONE;
+            Integer code = codes.get(value);
+            if (code != null) return code;
+            int newCode = values.size();
+            values.add(value);
+            codes.put(value, newCode);
+            return newCode;
+        }
+
+        String get(int code) {
+            return code == NONE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.contact.ui;
+
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+import com.contact.io.ContactExporter;
+import com.contact.io.ExportFormat;
+import com.contact.model.Person;
+
+import javafx.concurrent.Task;
+
+/**
+ * Background export of a stream of persons to a file, reporting progress to the UI.
+ * The value of the task is the number of persons written.
+ */
+public class ExportTask extends Task<Long> {
+
+    private final Callable<Stream<Person>> source;
+    private final Path target;
+    private final ExportFormat format;
+    private final long expected;
+
+    /**
+     * @param source opens the stream to export; it is closed when the export ends
+     * @param expected how many persons the stream will yield, or -1 if unknown
+     */
+    public ExportTask(Callable<Stream<Person>> source, Path target, ExportFormat format, long expected) {
+        this.source = source;
+        this.target = target;
+        this.format = format;
+        this.expected = expected;
+    }
+
+    @Override
+    protected Long call() throws Exception {
+        updateMessage("Exporting to " + target.getFileName() + "...");
+        try (Stream<Person> persons = source.call()) {
+            return new ContactExporter().export(persons, target, format, written -> {
+                updateProgress(written, expected > 0 ? Math.max(expected, written) : -1);
+                updateMessage("Exported " + written + " contacts to " + target.getFileName());
+            });
+        }
+    }
+}
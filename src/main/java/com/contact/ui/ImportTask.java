@@ -0,0 +1,31 @@
+package com.contact.ui;
+
+import java.nio.file.Path;
+
+import com.contact.io.ContactImporter;
+import com.contact.io.ImportReport;
+
+import javafx.concurrent.Task;
+
+/**
+ * Background import of a CSV or vCard file, reporting progress to the UI.
+ */
+public class ImportTask extends Task<ImportReport> {
+
+    private final ContactImporter importer;
+    private final Path source;
+
+    public ImportTask(ContactImporter importer, Path source) {
+        this.importer = importer;
+        this.source = source;
+    }
+
+    @Override
+    protected ImportReport call() throws Exception {
+        updateMessage("Importing " + source.getFileName() + "...");
+        return importer.importFile(source, (records, fraction) -> {
+            updateProgress(fraction, 1);
+            updateMessage("Read " + records + " records from " + source.getFileName());
+        });
+    }
+}
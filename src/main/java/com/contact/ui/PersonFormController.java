@@ -3,11 +3,17 @@ package com.contact.ui;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 
-import com.contact.dao.PersonDAO;
+import com.contact.dao.OptimisticLockException;
 import com.contact.dao.PersonDAOImpl;
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import com.contact.service.AsyncPersonService;
+import com.contact.service.AsyncPersonServiceImpl;
+import com.contact.service.PersonServiceImpl;
 
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -24,7 +30,7 @@ import javafx.stage.Stage;
 
 public class PersonFormController {
 
-    private final PersonDAO personDAO;
+    private final AsyncPersonService personService;
 
     @FXML private TextField lastNameField;
     @FXML private TextField firstNameField;
@@ -59,39 +65,69 @@ public class PersonFormController {
         nicknameField.textProperty().addListener(nameListener);
     }
 
-    private ObservableList<Person> personList;
+    private ObservableList<PersonSummary> personList;
     private Integer editingPersonId = null;
+    private PersonSummary editingPerson;
+    private Integer editingVersion;
     private Stage formStage;
+    private PersonPager pager;
 
     public PersonFormController() {
-        this.personDAO = new PersonDAOImpl();
+        this(null);
     }
 
-    public PersonFormController(ObservableList<Person> personList) {
-        this.personDAO = new PersonDAOImpl();
+    public PersonFormController(ObservableList<PersonSummary> personList) {
+        this(personList, new AsyncPersonServiceImpl(new PersonServiceImpl(new PersonDAOImpl())));
+    }
+
+    public PersonFormController(ObservableList<PersonSummary> personList, AsyncPersonService personService) {
+        this.personService = personService;
         this.personList = personList;
     }
 
-    public void setPersonList(ObservableList<Person> personList) {
+    public void setPersonList(ObservableList<PersonSummary> personList) {
         this.personList = personList;
     }
 
+    /**
+     * Sets the pager that owns the person list. When set, each add, update and delete
+     * is patched into the list instead of reloading the whole list.
+     */
+    public void setPager(PersonPager pager) {
+        this.pager = pager;
+    }
+
     public void showAddForm(Stage ownerStage) {
         editingPersonId = null;
         showFormWindow(ownerStage, "Add New Person", null);
     }
 
-    public void showEditForm(Stage ownerStage, Person person) {
+    /**
+     * Loads the full person behind a table row and opens the edit form for it.
+     */
+    public void showEditForm(Stage ownerStage, PersonSummary person) {
         if (person == null) {
             showAlert(Alert.AlertType.WARNING, "No Selection",
                     "Please select a person from the table first.");
             return;
         }
-        editingPersonId = person.getIdperson();
-        showFormWindow(ownerStage, "Update Person", person);
+        personService.findById(person.idperson()).whenCompleteAsync((found, error) -> {
+            if (error != null) {
+                showError("Could not load person", error);
+            } else if (found.isEmpty()) {
+                showAlert(Alert.AlertType.ERROR, "Error",
+                        "Could not open person. They may have already been removed.");
+                personDeleted(person);
+            } else {
+                editingPersonId = person.idperson();
+                editingPerson = person;
+                editingVersion = found.get().getVersion();
+                showFormWindow(ownerStage, "Update Person", found.get());
+            }
+        }, Platform::runLater);
     }
 
-    public void showDeleteConfirmation(Person person) {
+    public void showDeleteConfirmation(PersonSummary person) {
         if (person == null) {
             showAlert(Alert.AlertType.WARNING, "No Selection",
                     "Please select a person from the table first.");
@@ -101,23 +137,23 @@ public class PersonFormController {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Delete Person");
         confirm.setHeaderText("Are you sure you want to delete this person?");
-        confirm.setContentText(person.getFullName() + " (ID: " + person.getIdperson() + ")");
+        confirm.setContentText(person.fullName() + " (ID: " + person.idperson() + ")");
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    boolean deleted = personDAO.deletePerson(person.getIdperson());
-                    if (deleted) {
+                personService.delete(person.idperson()).whenCompleteAsync((deleted, error) -> {
+                    if (error != null) {
+                        showError("Could not delete person", error);
+                    } else if (deleted) {
                         showAlert(Alert.AlertType.INFORMATION, "Deleted",
-                                person.getFullName() + " has been deleted.");
-                        refreshPersonList();
+                                person.fullName() + " has been deleted.");
+                        personDeleted(person);
                     } else {
                         showAlert(Alert.AlertType.ERROR, "Error",
                                 "Could not delete person. They may have already been removed.");
+                        personDeleted(person);
                     }
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", e.getMessage());
-                }
+                }, Platform::runLater);
             }
         });
     }
@@ -173,22 +209,19 @@ public class PersonFormController {
         }
 
         Person person = buildPersonFromFields();
-        try {
-            personDAO.createPerson(person);
+        saveButton.setDisable(true);
+        personService.create(person).whenCompleteAsync((created, error) -> {
+            saveButton.setDisable(false);
+            if (error != null) {
+                showError("Could not add person", error);
+                return;
+            }
             showAlert(Alert.AlertType.INFORMATION, "Success",
                     person.getFullName() + " has been added.");
             clearForm();
-            refreshPersonList();
+            personCreated(created);
             formStage.close();
-        } catch (SQLException e) {
-            if (e.getMessage().contains("UNIQUE constraint failed")) {
-                showAlert(Alert.AlertType.ERROR, "Duplicate Entry",
-                        "This phone number or email already exists in the database.");
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Database Error",
-                        "Could not add person: " + e.getMessage());
-            }
-        }
+        }, Platform::runLater);
     }
 
     private void handleUpdate() {
@@ -198,28 +231,53 @@ public class PersonFormController {
             return;
         }
 
+        PersonSummary before = editingPerson;
         Person person = buildPersonFromFields();
         person.setIdperson(editingPersonId);
-        try {
-            boolean updated = personDAO.updatePerson(person);
-            if (updated) {
+        person.setVersion(editingVersion);
+        saveButton.setDisable(true);
+        personService.update(person).whenCompleteAsync((updated, error) -> {
+            saveButton.setDisable(false);
+            if (error != null) {
+                showError("Could not update person", error);
+            } else if (updated) {
                 showAlert(Alert.AlertType.INFORMATION, "Success",
                         person.getFullName() + " has been updated.");
                 clearForm();
-                refreshPersonList();
+                personUpdated(before, person);
                 formStage.close();
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error",
                         "Could not update. Person may have been deleted.");
+                personDeleted(before);
             }
-        } catch (SQLException e) {
-            if (e.getMessage().contains("UNIQUE constraint failed")) {
-                showAlert(Alert.AlertType.ERROR, "Duplicate Entry",
-                        "This phone number or email already exists in the database.");
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Database Error",
-                        "Could not add person: " + e.getMessage());
-            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Shows the failure of a background call, using the same wording as the form validation
+     * for rule violations reported by the service.
+     */
+    private void showError(String action, Throwable error) {
+        Throwable cause = AsyncPersonService.unwrap(error);
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        if (cause instanceof OptimisticLockException) {
+            showAlert(Alert.AlertType.WARNING, "Edit Conflict",
+                    "This contact was changed by someone else while you were editing it. "
+                            + "Close the form and open the contact again to see their changes.");
+            if (pager != null) pager.refresh();
+        } else if (cause instanceof IllegalArgumentException) {
+            showAlert(Alert.AlertType.WARNING, "Validation Error", message);
+        } else if (cause instanceof IllegalStateException
+                || message.contains("UNIQUE constraint failed")) {
+            showAlert(Alert.AlertType.ERROR, "Duplicate Entry",
+                    cause instanceof IllegalStateException
+                            ? "A contact with this first and last name already exists."
+                            : "This phone number or email already exists in the database.");
+        } else if (cause instanceof SQLException) {
+            showAlert(Alert.AlertType.ERROR, "Database Error", action + ": " + message);
+        } else {
+            showAlert(Alert.AlertType.ERROR, "Error", action + ": " + message);
         }
     }
 
@@ -301,16 +359,47 @@ public class PersonFormController {
         emailField.clear();
         birthDatePicker.setValue(null);
         editingPersonId = null;
+        editingPerson = null;
+        editingVersion = null;
+    }
+
+    private void personCreated(Person created) {
+        if (pager != null) {
+            pager.insert(PersonSummary.of(created));
+        } else {
+            refreshPersonList();
+        }
+    }
+
+    private void personUpdated(PersonSummary before, Person after) {
+        if (pager != null && before != null) {
+            pager.replace(before, PersonSummary.of(after));
+        } else {
+            refreshPersonList();
+        }
     }
 
+    private void personDeleted(PersonSummary deleted) {
+        if (pager != null && deleted != null) {
+            pager.remove(deleted);
+        } else {
+            refreshPersonList();
+        }
+    }
+
+    /**
+     * Reloads the whole list; only used when no pager owns the list.
+     */
     private void refreshPersonList() {
         if (personList == null) return;
-        try {
-            personList.setAll(personDAO.findAll());
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Refresh Error",
-                    "Could not refresh list: " + e.getMessage());
-        }
+        personService.findSummaryPage(null, null, null, Integer.MAX_VALUE).whenCompleteAsync((List<PersonSummary> persons, Throwable error) -> {
+            if (error != null) {
+                showAlert(Alert.AlertType.ERROR, "Refresh Error",
+                        "Could not refresh list: " + AsyncPersonService.unwrap(error).getMessage());
+            } else {
+                personList.setAll(persons);
+            }
+        }, Platform::runLater);
     }
 
     private void showAlert(Alert.AlertType type, String title, String message) {
@@ -0,0 +1,340 @@
+package com.contact.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.contact.dao.ChangeSet;
+import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import com.contact.service.AsyncPersonService;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+/**
+ * Fills an observable list of contact summaries page by page using the keyset-paginated
+ * {@link AsyncPersonService#findSummaryPage} query. The next page is fetched in the
+ * background when the attached table is scrolled close to its end, and appended
+ * on the JavaFX Application Thread.
+ *
+ * The list is kept in the same (lastname, firstname, id) order as the query, so single
+ * changes can be patched in with a binary search instead of reloading everything.
+ * {@link #refresh()} does the same for every change recorded in the database since the
+ * list was loaded, so it costs one query for the changed rows instead of a full reload.
+ * When more rows changed than are loaded, or than {@value #MAX_CHANGES}, as after a large
+ * import, reloading the first page is cheaper and it resets instead.
+ */
+public class PersonPager {
+    private static final System.Logger LOG = System.getLogger(PersonPager.class.getName());
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    private static final double LOAD_THRESHOLD = 0.9;
+    /** Most changes a refresh merges into the list before it reloads instead. */
+    static final int MAX_CHANGES = 10_000;
+
+    /** Same order as the findPage query. */
+    static final Comparator<PersonSummary> ORDER = Comparator.comparing(PersonSummary::lastname)
+            .thenComparing(PersonSummary::firstname)
+            .thenComparing(PersonSummary::idperson);
+
+    private final AsyncPersonService personService;
+    private final ObservableList<PersonSummary> target;
+    private final int pageSize;
+
+    private PersonSummary last;
+    private final ReadOnlyBooleanWrapper hasMore = new ReadOnlyBooleanWrapper(this, "hasMore", true);
+    private CompletableFuture<?> pending;
+    /** Change version the loaded rows are up to date with, or -1 if unknown. */
+    private long version = -1;
+    private CompletableFuture<ChangeSet> sync;
+    private CompletableFuture<Long> versionRead;
+    /** Set when the watcher already reloaded the list for a version that could not be read. */
+    private boolean reloadedWithoutVersion;
+    /** Set when a refresh is asked for while one is running, which may have read too early. */
+    private boolean refreshAgain;
+
+    public PersonPager(AsyncPersonService personService, ObservableList<PersonSummary> target, int pageSize) {
+        this.personService = personService;
+        this.target = target;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Forgets the current position, cancels a page still being loaded and loads the first page again.
+     * The change version is read before the first page, so no change made while the pages
+     * load is missed by the next {@link #refresh()}.
+     */
+    public void reset() {
+        cancel();
+        last = null;
+        version = -1;
+        hasMore.set(true);
+        target.clear();
+
+        CompletableFuture<Long> request = personService.getChangeVersion();
+        pending = request;
+        request.whenCompleteAsync((current, error) -> {
+            if (pending != request) return; // superseded by another reset()
+            pending = null;
+            if (error != null) {
+                LOG.log(System.Logger.Level.WARNING, "Could not read change version", AsyncPersonService.unwrap(error));
+            } else {
+                version = current;
+                reloadedWithoutVersion = false;
+            }
+            loadNextPage();
+        }, Platform::runLater);
+    }
+
+    /**
+     * Brings the loaded rows up to date with the database by applying the persons changed
+     * since they were loaded. Falls back to {@link #reset()} if the list has no known version.
+     * Called while a refresh is running, it runs once more after that one.
+     */
+    public void refresh() {
+        if (version < 0) {
+            reset();
+            return;
+        }
+        if (sync != null) {
+            refreshAgain = true;
+            return;
+        }
+
+        int limit = Math.min(MAX_CHANGES, Math.max(pageSize, target.size()));
+        CompletableFuture<ChangeSet> request = personService.findChangedSince(version, limit);
+        sync = request;
+        request.whenCompleteAsync((changes, error) -> {
+            if (sync != request) return; // superseded by reset()
+            sync = null;
+            if (error != null) {
+                LOG.log(System.Logger.Level.WARNING, "Could not load changes", AsyncPersonService.unwrap(error));
+            } else if (changes.truncated()) {
+                reset();
+                return;
+            } else {
+                apply(changes);
+            }
+            if (refreshAgain) {
+                refreshAgain = false;
+                refresh();
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Reacts to a change noticed by a {@link com.contact.service.DatabaseChangeWatcher}.
+     * Same as {@link #refresh()}, except that once it has reloaded the list because the
+     * version could not be read, it only tries to read the version again until that works,
+     * instead of reloading every page on every poll.
+     */
+    public void refreshFromWatcher() {
+        if (version >= 0 || !reloadedWithoutVersion) {
+            if (version < 0) reloadedWithoutVersion = true;
+            refresh();
+            return;
+        }
+        readVersion();
+    }
+
+    private void readVersion() {
+        if (versionRead != null) return;
+        CompletableFuture<Long> request = personService.getChangeVersion();
+        versionRead = request;
+        request.whenCompleteAsync((current, error) -> {
+            if (versionRead != request) return; // superseded by reset()
+            versionRead = null;
+            if (error != null) {
+                LOG.log(System.Logger.Level.WARNING, "Could not read change version", AsyncPersonService.unwrap(error));
+            } else if (version < 0) {
+                version = current;
+                reloadedWithoutVersion = false;
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Drops every changed or deleted person from the list and merges the changed ones back
+     * in at their new position, in one pass over the list. The result replaces the content
+     * of the list at once, so listeners see a single change however many rows changed.
+     */
+    void apply(ChangeSet changes) {
+        version = changes.version();
+        if (changes.isEmpty()) return;
+
+        Set<Integer> ids = new HashSet<>(changes.deleted());
+        List<PersonSummary> inserted = new ArrayList<>(changes.changed().size());
+        for (Person person : changes.changed()) {
+            ids.add(person.getIdperson());
+            PersonSummary summary = PersonSummary.of(person);
+            if (isLoaded(summary)) inserted.add(summary);
+        }
+        inserted.sort(ORDER);
+
+        ColumnarPersonList columns = target instanceof ColumnarPersonList c ? c : null;
+        List<PersonSummary> merged = new ArrayList<>(target.size() + inserted.size());
+        boolean modified = !inserted.isEmpty();
+        int next = 0;
+        for (int i = 0; i < target.size(); i++) {
+            int id = columns != null ? columns.idAt(i) : target.get(i).idperson();
+            if (ids.contains(id)) {
+                modified = true;
+                continue;
+            }
+            PersonSummary row = target.get(i);
+            while (next < inserted.size() && ORDER.compare(inserted.get(next), row) < 0) {
+                merged.add(inserted.get(next++));
+            }
+            merged.add(row);
+        }
+        merged.addAll(inserted.subList(next, inserted.size()));
+        if (modified) {
+            target.setAll(merged);
+        }
+    }
+
+    /**
+     * Starts loading the next page, unless every person has already been loaded
+     * or a page is already on its way.
+     */
+    public void loadNextPage() {
+        if (!hasMore.get() || pending != null) return;
+
+        CompletableFuture<List<PersonSummary>> request = last == null
+                ? personService.findSummaryPage(null, null, null, pageSize)
+                : personService.findSummaryPage(last.lastname(), last.firstname(), last.idperson(), pageSize);
+        pending = request;
+        request.whenCompleteAsync((page, error) -> {
+            if (pending != request) return; // superseded by reset()
+            pending = null;
+            if (error != null) {
+                LOG.log(System.Logger.Level.WARNING, "Could not load page", AsyncPersonService.unwrap(error));
+                return;
+            }
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+            }
+            hasMore.set(page.size() == pageSize);
+            target.addAll(page);
+        }, Platform::runLater);
+    }
+
+    /**
+     * Inserts a newly created person at its sorted position. A person that sorts after
+     * the last loaded page is left out; it arrives with a later page.
+     */
+    public void insert(PersonSummary created) {
+        if (!isLoaded(created)) return;
+        int index = Collections.binarySearch(target, created, ORDER);
+        if (index < 0) {
+            target.add(-index - 1, created);
+        }
+    }
+
+    /**
+     * Replaces an updated person in place, moving it if its name (and so its position) changed.
+     *
+     * @param before the person as currently shown in the list
+     * @param after the person as saved
+     */
+    public void replace(PersonSummary before, PersonSummary after) {
+        int index = indexOf(before);
+        if (index >= 0 && ORDER.compare(before, after) == 0) {
+            target.set(index, after);
+            return;
+        }
+        if (index >= 0) {
+            target.remove(index);
+        }
+        insert(after);
+    }
+
+    /**
+     * Removes a deleted person from the list.
+     */
+    public void remove(PersonSummary deleted) {
+        int index = indexOf(deleted);
+        if (index >= 0) {
+            target.remove(index);
+        }
+    }
+
+    /**
+     * @return true if more persons may exist after the last loaded page
+     */
+    public boolean hasMore() {
+        return hasMore.get();
+    }
+
+    public ReadOnlyBooleanProperty hasMoreProperty() {
+        return hasMore.getReadOnlyProperty();
+    }
+
+    /**
+     * Loads the next page whenever the table's vertical scroll bar gets near its end.
+     * The scroll bar only exists once the table skin is created, so it is looked up lazily.
+     *
+     * @param table the table showing the target list
+     */
+    public void attach(TableView<?> table) {
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin == null) return;
+            for (Node node : table.lookupAll(".scroll-bar")) {
+                if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                    bar.valueProperty().addListener((o, oldVal, newVal) -> {
+                        if (newVal.doubleValue() >= bar.getMax() * LOAD_THRESHOLD) {
+                            loadNextPage();
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private void cancel() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        if (sync != null) {
+            sync.cancel(true);
+            sync = null;
+        }
+        if (versionRead != null) {
+            versionRead.cancel(true);
+            versionRead = null;
+        }
+        refreshAgain = false;
+    }
+
+    private boolean isLoaded(PersonSummary person) {
+        return !hasMore.get() || (last != null && ORDER.compare(person, last) <= 0);
+    }
+
+    /**
+     * Finds a person by binary search on its sort key, falling back to a scan by id
+     * if the list holds an older version of it under a different name.
+     */
+    private int indexOf(PersonSummary person) {
+        int index = Collections.binarySearch(target, person, ORDER);
+        if (index >= 0) return index;
+        for (int i = 0; i < target.size(); i++) {
+            if (Objects.equals(target.get(i).idperson(), person.idperson())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,193 @@
+package com.contact.ui;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import com.contact.model.PersonSummary;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * In-memory trigram index over the fields the contact table searches: full name,
+ * nickname, phone and email.
+ *
+ * Every person's fields are lowercased once, when the person is indexed. A query of
+ * three or more characters intersects the sorted id lists of its trigrams and only
+ * checks the few remaining candidates with {@code String.contains}; shorter queries
+ * scan the pre-lowercased texts. Either way no strings are built per row.
+ * The index is safe to query from a background thread while the FX thread updates it.
+ */
+public class PersonSearchIndex {
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String> texts = new HashMap<>();
+
+    /**
+     * Indexes the current content of the list and keeps the index in sync with later changes.
+     */
+    public void attach(ObservableList<PersonSummary> persons) {
+        persons.forEach(this::add);
+        persons.addListener((ListChangeListener<PersonSummary>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) continue;
+                for (PersonSummary removed : change.getRemoved()) {
+                    remove(removed.idperson());
+                }
+                for (PersonSummary added : change.getAddedSubList()) {
+                    add(added);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a person, replacing whatever was indexed under the same id.
+     */
+    public synchronized void add(PersonSummary person) {
+        Integer id = person.idperson();
+        if (id == null) return;
+        remove(id);
+
+        String text = textOf(person);
+        texts.put(id, text);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            if (spansSeparator(text, i)) continue;
+            postings.computeIfAbsent(trigram(text, i), k -> new PostingList()).add(id);
+        }
+    }
+
+    public synchronized void remove(Integer id) {
+        if (id == null) return;
+        String text = texts.remove(id);
+        if (text == null) return;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            if (spansSeparator(text, i)) continue;
+            long key = trigram(text, i);
+            PostingList list = postings.get(key);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return texts.size();
+    }
+
+    /**
+     * Finds the ids of all persons whose full name, nickname, phone or email contains the query,
+     * ignoring case. A blank query matches everyone.
+     *
+     * @return a predicate over person ids
+     */
+    public synchronized IntPredicate search(String query) {
+        String q = query == null ? "" : query.toLowerCase().trim();
+        if (q.isEmpty()) return id -> true;
+
+        BitSet matches = new BitSet();
+        if (q.length() < 3) {
+            texts.forEach((id, text) -> {
+                if (text.contains(q)) matches.set(id);
+            });
+            return matches::get;
+        }
+
+        PostingList[] lists = new PostingList[q.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            PostingList list = postings.get(trigram(q, i));
+            if (list == null) return matches::get;
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = lists[i].retainAll(candidates, count);
+        }
+        for (int i = 0; i < count; i++) {
+            if (texts.get(candidates[i]).contains(q)) {
+                matches.set(candidates[i]);
+            }
+        }
+        return matches::get;
+    }
+
+    private static String textOf(PersonSummary p) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(p.firstname() != null ? p.firstname() : "")
+          .append(' ')
+          .append(p.lastname() != null ? p.lastname() : "");
+        for (String field : new String[] { p.nickname(), p.phoneNumber(), p.emailAddress() }) {
+            sb.append(FIELD_SEPARATOR);
+            if (field != null) sb.append(field);
+        }
+        return sb.toString().toLowerCase();
+    }
+
+    private static boolean spansSeparator(String text, int start) {
+        return text.charAt(start) == FIELD_SEPARATOR
+                || text.charAt(start + 1) == FIELD_SEPARATOR
+                || text.charAt(start + 2) == FIELD_SEPARATOR;
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32)
+                | ((long) text.charAt(start + 1) << 16)
+                | text.charAt(start + 2);
+    }
+
+    /**
+     * Sorted, duplicate-free list of person ids backed by a growable int array.
+     */
+    private static final class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) return;
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) return false;
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Keeps in {@code candidates} only the ids also present in this list.
+         *
+         * @return the new number of candidates
+         */
+        int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count; i++) {
+                int index = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (index >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.contact.ui;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.contact.service.AsyncPersonService;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+/**
+ * Debounced, cancellable search for a text field.
+ *
+ * Each {@link #submit} restarts a short timer; the search only starts once typing
+ * pauses. Starting a new search cancels the previous one, and a result is only
+ * published on the FX thread if no newer query was submitted in the meantime, so
+ * a fast typist never sees stale results or waits for searches nobody needs.
+ *
+ * @param <R> the type of a search result
+ */
+public class SearchPipeline<R> {
+    private static final System.Logger LOG = System.getLogger(SearchPipeline.class.getName());
+
+    public static final Duration DEFAULT_DELAY = Duration.millis(200);
+
+    private final Function<String, CompletableFuture<R>> search;
+    private final BiConsumer<String, R> publish;
+    private final PauseTransition debounce;
+
+    private String query = "";
+    private long generation;
+    private CompletableFuture<R> inFlight;
+
+    /**
+     * @param delay how long typing must pause before a search starts
+     * @param search starts a search in the background and returns its future result
+     * @param publish receives the query and its result on the FX thread
+     */
+    public SearchPipeline(Duration delay, Function<String, CompletableFuture<R>> search,
+                          BiConsumer<String, R> publish) {
+        this.search = search;
+        this.publish = publish;
+        this.debounce = new PauseTransition(delay);
+        this.debounce.setOnFinished(e -> start());
+    }
+
+    /**
+     * Schedules a search for the query, dropping any search that is waiting or running.
+     * Must be called on the FX thread.
+     */
+    public void submit(String query) {
+        this.query = query == null ? "" : query;
+        cancelInFlight();
+        debounce.playFromStart();
+    }
+
+    /**
+     * Runs the search for the query right away, without waiting for the debounce delay.
+     */
+    public void submitNow(String query) {
+        this.query = query == null ? "" : query;
+        cancelInFlight();
+        debounce.stop();
+        start();
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    private void start() {
+        long current = generation;
+        String q = query;
+        CompletableFuture<R> request = search.apply(q);
+        inFlight = request;
+        request.whenCompleteAsync((result, error) -> {
+            if (current != generation) return; // a newer query was submitted
+            inFlight = null;
+            if (error != null) {
+                LOG.log(System.Logger.Level.WARNING, "Search failed: " + q, AsyncPersonService.unwrap(error));
+                return;
+            }
+            publish.accept(q, result);
+        }, Platform::runLater);
+    }
+
+    private void cancelInFlight() {
+        generation++;
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+}
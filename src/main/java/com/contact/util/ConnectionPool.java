@@ -0,0 +1,272 @@
+package com.contact.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool of SQLite connections.
+ *
+ * Callers borrow a connection with {@link #getConnection()} and give it back by
+ * closing it, so the usual try-with-resources blocks keep working while the
+ * physical connection (and its open file handle) is reused.
+ * Every physical connection is opened in WAL journal mode so readers do not
+ * block behind a writer, and keeps its own {@link StatementCache} so hot queries
+ * are parsed and planned by SQLite only once.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final System.Logger LOG = System.getLogger(ConnectionPool.class.getName());
+
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long validationIntervalNanos;
+    private final int statementCacheSize;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, int maxSize, long acquireTimeoutMillis, long validationIntervalMillis) {
+        this(url, maxSize, acquireTimeoutMillis, validationIntervalMillis, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a pool; connections are opened lazily on first use.
+     *
+     * @param url the JDBC url of the database
+     * @param maxSize the maximum number of connections handed out at the same time
+     * @param acquireTimeoutMillis how long {@link #getConnection()} waits for a free connection
+     * @param validationIntervalMillis idle time after which a connection is checked before reuse
+     * @param statementCacheSize prepared statements kept per connection, 0 disables caching
+     */
+    public ConnectionPool(String url, int maxSize, long acquireTimeoutMillis, long validationIntervalMillis,
+                          int statementCacheSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Pool size must be positive");
+        if (statementCacheSize < 0) throw new IllegalArgumentException("Statement cache size must not be negative");
+        this.url = url;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationIntervalNanos = TimeUnit.MILLISECONDS.toNanos(validationIntervalMillis);
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available.
+     * Closing the returned connection hands it back to the pool.
+     *
+     * @return a connection in auto-commit mode
+     * @throws SQLTimeoutException if no connection became free within the acquire timeout
+     * @throws SQLException if the pool is closed or a connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            return takeHealthyConnection().lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxSize() { return maxSize; }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public int getActiveCount() { return maxSize - permits.availablePermits(); }
+
+    /**
+     * Closes all idle connections; connections still in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (idle) {
+            idle.forEach(PooledConnection::closePhysical);
+            idle.clear();
+        }
+    }
+
+    private PooledConnection takeHealthyConnection() throws SQLException {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return open();
+            }
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+            candidate.closePhysical();
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url);
+        try (Statement stmt = physical.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("PRAGMA synchronous=NORMAL");
+            stmt.execute("PRAGMA busy_timeout=5000");
+            stmt.execute("PRAGMA cache_size=-16000");
+            stmt.execute("PRAGMA mmap_size=268435456");
+            stmt.execute("PRAGMA temp_store=MEMORY");
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+        return new PooledConnection(physical);
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            if (pooled.reset() && !closed) {
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            } else {
+                pooled.closePhysical();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statements;
+        private long releasedAt = System.nanoTime();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, statementCacheSize);
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Lease(this));
+        }
+
+        boolean isHealthy() {
+            try {
+                if (physical.isClosed()) return false;
+                if (System.nanoTime() - releasedAt < validationIntervalNanos) return true;
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Puts the connection back into auto-commit mode, rolling back anything left open.
+         *
+         * @return true if the connection can be reused
+         */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) return false;
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                releasedAt = System.nanoTime();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            statements.close();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOG.log(System.Logger.Level.WARNING, "Could not close pooled connection", e);
+            }
+        }
+    }
+
+    /**
+     * Handle given to callers; {@code close()} returns the connection to the pool
+     * instead of closing it.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (method.getName().equals("prepareStatement")) {
+                if (args.length == 1) {
+                    return pooled.statements.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (args.length == 2 && args[1] instanceof Integer autoGeneratedKeys) {
+                    return pooled.statements.prepare((String) args[0], autoGeneratedKeys);
+                }
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,73 +1,87 @@
 package com.contact.util;
 
-import java.io.*;
+import java.io.IOException;
 import java.sql.*;
 
+import com.contact.dao.PersonDAOImpl;
+import com.contact.metrics.MetricsRegistry;
+
 public class DatabaseConnection {
-    private static final String DB_URL = "jdbc:sqlite:database/contacts.db";
-    private static DatabaseConnection instance;
-    private Connection connection;
+    private static final System.Logger LOG = System.getLogger(DatabaseConnection.class.getName());
+
+    private static final String DB_URL = System.getProperty("contact.db.url", "jdbc:sqlite:database/contacts.db");
+    private static final int POOL_SIZE = Integer.getInteger("contact.db.pool.size", 4);
+    private static final long ACQUIRE_TIMEOUT_MS = Long.getLong("contact.db.pool.acquireTimeoutMs", 5000L);
+    private static final long VALIDATION_INTERVAL_MS = Long.getLong("contact.db.pool.validationIntervalMs", 30000L);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("contact.db.statementCacheSize",
+            ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE);
+
+    private final ConnectionPool pool;
 
     private DatabaseConnection() {
-        try {
-            Class.forName("org.sqlite.JDBC");
-            this.connection = DriverManager.getConnection(DB_URL);
-            System.out.println("Database connected!");
-      
-            initializeDatabase();
-        } catch (Exception e) {
-            System.err.println("Database connection failed!");
-            e.printStackTrace();
-        }
+        this.pool = new ConnectionPool(DB_URL, POOL_SIZE, ACQUIRE_TIMEOUT_MS, VALIDATION_INTERVAL_MS,
+                STATEMENT_CACHE_SIZE);
+        LOG.log(System.Logger.Level.INFO, "Database connected: {0}", DB_URL);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("pool.active", pool::getActiveCount);
+        metrics.gauge("pool.idle", pool::getIdleCount);
+        metrics.gauge("pool.max", pool::getMaxSize);
+
+        initializeDatabase();
+    }
+
+    private static final class Holder {
+        private static final DatabaseConnection INSTANCE = new DatabaseConnection();
     }
 
     public static DatabaseConnection getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConnection();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(DB_URL);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return connection;
+    /**
+     * Borrows a connection from the pool. Closing it returns it to the pool.
+     *
+     * @return a pooled connection
+     * @throws SQLException if no connection is available within the acquire timeout
+     */
+    public Connection getConnection() throws SQLException {
+        return pool.getConnection();
     }
 
-    private void initializeDatabase() {
-    	System.out.println("Initializing database...");
-        try {
-            InputStream is = DatabaseConnection.class.getResourceAsStream("/db/init.sql");
-            if (is == null) {
-                System.out.println("INIT.SQL NOT FOUND AT RUNTIME");
-                return;
-            }
-            
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-            StringBuilder sql = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.trim().isEmpty() && !line.startsWith("--")) {
-                    sql.append(line).append(" ");
-                }
-            }
-            reader.close();
+    public ConnectionPool getPool() {
+        return pool;
+    }
 
-            try (Statement stmt = connection.createStatement()) {
-                for (String statement : sql.toString().split(";")) {
-                    if (!statement.trim().isEmpty()) {
-                        stmt.execute(statement.trim());
-                    }
-                }
-                System.out.println("Database initialized!");
-            }
+    /**
+     * Closes the idle pooled connections, typically on application exit.
+     */
+    public void shutdown() {
+        pool.close();
+    }
+
+    /**
+     * Applies the schema migrations in {@code /db/migration} that this database has not seen yet.
+     */
+    private void initializeDatabase() {
+        LOG.log(System.Logger.Level.DEBUG, "Initializing database...");
+        try (Connection connection = pool.getConnection()) {
+            int applied = migrator().migrate(connection);
+            LOG.log(System.Logger.Level.INFO, "Database initialized ({0} migrations applied)", applied);
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.log(System.Logger.Level.ERROR, "Database initialization failed", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The application's migrations, with the functions their backfills use to derive
+     * the same column values as {@link PersonDAOImpl} writes.
+     */
+    static SchemaMigrator migrator() throws IOException {
+        return SchemaMigrator.fromClasspath("/db/migration")
+                .withFunction("person_name_key", args -> PersonDAOImpl.nameKey(args[0], args[1]))
+                .withFunction("person_phone_digits", args -> PersonDAOImpl.phoneDigits(args[0]))
+                .withFunction("person_phone_reversed", args -> PersonDAOImpl.phoneReversed(args[0]))
+                .withFunction("person_birth_md", args -> PersonDAOImpl.birthMonthDay(args[0]));
+    }
+}
@@ -0,0 +1,305 @@
+package com.contact.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.sqlite.Function;
+import org.sqlite.SQLiteConnection;
+
+/**
+ * Brings a database schema up to date by running numbered migration scripts, each once.
+ *
+ * Applied migrations are recorded in the schema_version table with a checksum of their
+ * script. On startup only the scripts newer than the recorded version run, each in its own
+ * transaction together with its schema_version row, so a failed migration leaves nothing
+ * half applied. When the schema is current, startup only reads schema_version and runs
+ * no DDL. A script changed after it was applied is reported instead of silently diverging.
+ *
+ * Scripts are named {@code V<version>__<description>.sql} and listed in order in an
+ * {@code index.txt} next to them. Backfills that must compute exactly what the Java code
+ * writes call it through functions registered with {@link #withFunction}.
+ */
+public class SchemaMigrator {
+    private static final System.Logger LOG = System.getLogger(SchemaMigrator.class.getName());
+
+    private static final Pattern NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_version ("
+            + "version INTEGER NOT NULL PRIMARY KEY, "
+            + "description TEXT NOT NULL, "
+            + "checksum INTEGER NOT NULL, "
+            + "installed_on TEXT NOT NULL DEFAULT (datetime('now')), "
+            + "execution_ms INTEGER NOT NULL DEFAULT 0)";
+    private static final String INSERT_SQL = "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)";
+    private static final String FINISH_SQL = "UPDATE schema_version SET execution_ms = ? WHERE version = ?";
+
+    /**
+     * One migration script.
+     *
+     * @param checksum CRC32 of the script with line endings normalized, so a checkout
+     *                 with CRLF line endings does not look modified
+     */
+    public record Migration(int version, String description, String script, long checksum) {
+
+        public static Migration of(String fileName, String script) {
+            Matcher m = NAME.matcher(fileName);
+            if (!m.matches()) {
+                throw new IllegalArgumentException("Migration name must look like V1__description.sql: " + fileName);
+            }
+            String normalized = script.replace("\r\n", "\n");
+            CRC32 crc = new CRC32();
+            crc.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return new Migration(Integer.parseInt(m.group(1)), m.group(2).replace('_', ' '), normalized, crc.getValue());
+        }
+    }
+
+    /**
+     * A deterministic SQL function over text values, for use in migration scripts.
+     */
+    @FunctionalInterface
+    public interface TextFunction {
+        /**
+         * @param args the argument values, null for SQL NULL
+         * @return the result, or null for SQL NULL
+         */
+        String apply(String[] args);
+    }
+
+    private final List<Migration> migrations;
+    private final Map<String, TextFunction> functions = new LinkedHashMap<>();
+
+    /**
+     * @param migrations the migrations in increasing version order
+     */
+    public SchemaMigrator(List<Migration> migrations) {
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() <= migrations.get(i - 1).version()) {
+                throw new IllegalArgumentException("Migrations must have increasing versions: "
+                        + migrations.get(i - 1).version() + " then " + migrations.get(i).version());
+            }
+        }
+        this.migrations = List.copyOf(migrations);
+    }
+
+    /**
+     * Loads the scripts listed in {@code <directory>/index.txt} from the classpath.
+     *
+     * @param directory resource directory such as {@code /db/migration}
+     */
+    public static SchemaMigrator fromClasspath(String directory) throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (String line : readResource(directory + "/index.txt").split("\n")) {
+            String name = line.trim();
+            if (name.isEmpty() || name.startsWith("#")) continue;
+            migrations.add(Migration.of(name, readResource(directory + "/" + name)));
+        }
+        return new SchemaMigrator(migrations);
+    }
+
+    public List<Migration> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * Makes a function callable from the scripts while they run. It is only registered on
+     * the connection when there are migrations to apply, and removed afterwards.
+     *
+     * @return this migrator
+     */
+    public SchemaMigrator withFunction(String name, TextFunction function) {
+        functions.put(name, function);
+        return this;
+    }
+
+    /**
+     * Applies every migration not recorded in schema_version yet.
+     *
+     * @return the number of migrations applied
+     * @throws IllegalStateException if an applied script was changed, or the database was
+     *         migrated by a newer version of the application
+     * @throws SQLException if a migration fails; it is rolled back, and later ones are not run
+     */
+    public int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE_SQL);
+        }
+        Map<Integer, Long> applied = appliedChecksums(conn);
+        int current = applied.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+        int latest = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+        if (current > latest) {
+            throw new IllegalStateException("Database schema version " + current
+                    + " is newer than the latest migration " + latest + " of this application");
+        }
+
+        List<Migration> pending = new ArrayList<>();
+        for (Migration migration : migrations) {
+            Long checksum = applied.get(migration.version());
+            if (checksum == null) {
+                pending.add(migration);
+            } else if (checksum != migration.checksum()) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                        + ") was changed after it was applied");
+            }
+        }
+        if (pending.isEmpty()) return 0;
+
+        int count = 0;
+        registerFunctions(conn);
+        try {
+            for (Migration migration : pending) {
+                if (apply(conn, migration)) count++;
+            }
+        } finally {
+            destroyFunctions(conn);
+        }
+        if (count > 0) {
+            LOG.log(System.Logger.Level.INFO, "Database schema migrated to version {0}", latest);
+        }
+        return count;
+    }
+
+    private void registerFunctions(Connection conn) throws SQLException {
+        SQLiteConnection sqlite = conn.unwrap(SQLiteConnection.class);
+        for (Map.Entry<String, TextFunction> entry : functions.entrySet()) {
+            TextFunction function = entry.getValue();
+            Function.create(sqlite, entry.getKey(), new Function() {
+                @Override
+                protected void xFunc() throws SQLException {
+                    String[] args = new String[args()];
+                    for (int i = 0; i < args.length; i++) {
+                        args[i] = value_text(i);
+                    }
+                    String value = function.apply(args);
+                    if (value == null) result(); else result(value);
+                }
+            }, -1, Function.FLAG_DETERMINISTIC);
+        }
+    }
+
+    private void destroyFunctions(Connection conn) throws SQLException {
+        SQLiteConnection sqlite = conn.unwrap(SQLiteConnection.class);
+        for (String name : functions.keySet()) {
+            Function.destroy(sqlite, name);
+        }
+    }
+
+    private static Map<Integer, Long> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Runs one migration in a transaction. Its schema_version row is written first, which
+     * takes the write lock, so another process migrating the same database at the same time
+     * either waits or finds the migration already recorded.
+     *
+     * @return false if another process applied the migration first
+     */
+    private static boolean apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+                pstmt.setInt(1, migration.version());
+                pstmt.setString(2, migration.description());
+                pstmt.setLong(3, migration.checksum());
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                if (e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed")) {
+                    conn.rollback();
+                    return false;
+                }
+                throw e;
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : readStatements(migration.script())) {
+                    stmt.execute(statement);
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(FINISH_SQL)) {
+                pstmt.setLong(1, (System.nanoTime() - start) / 1_000_000);
+                pstmt.setInt(2, migration.version());
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+            LOG.log(System.Logger.Level.INFO, "Applied migration V{0} ({1})", migration.version(), migration.description());
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version() + " (" + migration.description() + ") failed: "
+                    + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Splits a SQL script into statements on the trailing {@code ;} of a line.
+     * Trigger bodies ({@code BEGIN ... END;}) contain semicolons of their own,
+     * so inside them only the {@code END;} line closes the statement.
+     */
+    static List<String> readStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        boolean inBlock = false;
+        try (BufferedReader reader = new BufferedReader(new StringReader(script))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                sql.append(line).append('\n');
+
+                String upper = trimmed.toUpperCase(Locale.ROOT);
+                if (upper.endsWith("BEGIN")) {
+                    inBlock = true;
+                }
+                if (trimmed.endsWith(";") && (!inBlock || upper.equals("END;"))) {
+                    statements.add(sql.toString().trim());
+                    sql.setLength(0);
+                    inBlock = false;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!sql.toString().isBlank()) {
+            statements.add(sql.toString().trim());
+        }
+        return statements;
+    }
+
+    private static String readResource(String path) throws IOException {
+        try (InputStream is = SchemaMigrator.class.getResourceAsStream(path)) {
+            if (is == null) throw new IOException("Migration resource not found: " + path);
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
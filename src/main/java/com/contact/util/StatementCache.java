@@ -0,0 +1,131 @@
+package com.contact.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * A statement is removed from the cache while it is handed out, so two callers never
+ * share one; closing the handle clears its parameters and puts it back. When the cache
+ * is full the least recently used statement is really closed.
+ * Like the connection that owns it, the cache is used by one thread at a time.
+ */
+final class StatementCache {
+    private static final System.Logger LOG = System.getLogger(StatementCache.class.getName());
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Map<Key, PreparedStatement> idle;
+
+    StatementCache(Connection physical, int maxSize) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement stmt = idle.remove(key);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(key, stmt));
+    }
+
+    int size() {
+        return idle.size();
+    }
+
+    void close() {
+        idle.values().forEach(StatementCache::closeQuietly);
+        idle.clear();
+    }
+
+    private void release(Key key, PreparedStatement stmt) {
+        try {
+            if (maxSize == 0 || stmt.isClosed() || idle.containsKey(key)) {
+                stmt.close();
+                return;
+            }
+            stmt.clearParameters();
+            stmt.clearBatch();
+            idle.put(key, stmt);
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            LOG.log(System.Logger.Level.WARNING, "Could not close cached statement", e);
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {}
+
+    /**
+     * Handle given to callers; {@code close()} returns the statement to the cache.
+     */
+    private final class Handle implements InvocationHandler {
+        private final Key key;
+        private final PreparedStatement stmt;
+        private boolean returned;
+
+        Handle(Key key, PreparedStatement stmt) {
+            this.key = key;
+            this.stmt = stmt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(key, stmt);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || stmt.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + key.sql() + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                return method.invoke(stmt, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -2,11 +2,14 @@ module com.contact {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires java.management;
     requires org.xerial.sqlitejdbc;
     
     opens com.contact.ui to javafx.fxml;
     exports com.contact.model;
     exports com.contact.dao;
     exports com.contact.service;
+    exports com.contact.io;
+    exports com.contact.metrics;
     exports com.contact.ui;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+-- Replace the word index of V4 by a trigram index, so the database matches substrings of the
+-- full name, nickname, phone and email like the contact table's in-memory search does.
+-- The table is contentless: it only needs the rowid to join person, not a copy of the text.
+DROP TRIGGER IF EXISTS person_fts_insert;
+DROP TRIGGER IF EXISTS person_fts_delete;
+DROP TRIGGER IF EXISTS person_fts_update;
+DROP TABLE IF EXISTS person_fts;
+
+CREATE VIRTUAL TABLE person_fts USING fts5(
+    full_name,
+    nickname,
+    phone_number,
+    email_address,
+    content='',
+    contentless_delete=1,
+    tokenize='trigram'
+);
+
+CREATE TRIGGER person_fts_insert AFTER INSERT ON person BEGIN
+    INSERT INTO person_fts (rowid, full_name, nickname, phone_number, email_address)
+    VALUES (NEW.idperson, NEW.firstname || ' ' || NEW.lastname, NEW.nickname, NEW.phone_number, NEW.email_address);
+END;
+
+CREATE TRIGGER person_fts_delete AFTER DELETE ON person BEGIN
+    DELETE FROM person_fts WHERE rowid = OLD.idperson;
+END;
+
+CREATE TRIGGER person_fts_update AFTER UPDATE OF firstname, lastname, nickname, email_address, phone_number ON person BEGIN
+    DELETE FROM person_fts WHERE rowid = OLD.idperson;
+    INSERT INTO person_fts (rowid, full_name, nickname, phone_number, email_address)
+    VALUES (NEW.idperson, NEW.firstname || ' ' || NEW.lastname, NEW.nickname, NEW.phone_number, NEW.email_address);
+END;
+
+INSERT INTO person_fts (rowid, full_name, nickname, phone_number, email_address)
+SELECT idperson, firstname || ' ' || lastname, nickname, phone_number, email_address FROM person;
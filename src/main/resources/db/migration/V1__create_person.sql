@@ -1,3 +1,4 @@
+-- Contacts, with the index the keyset-paginated list reads in order
 CREATE TABLE IF NOT EXISTS person (
     idperson INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,
     lastname VARCHAR(45) NOT NULL,
@@ -9,5 +10,4 @@ CREATE TABLE IF NOT EXISTS person (
     birth_date DATE NULL
 );
 
-
-
+CREATE INDEX IF NOT EXISTS idx_person_name ON person (lastname, firstname, idperson);
@@ -0,0 +1,4 @@
+-- Trimmed, lowercased "firstname<US>lastname" used for duplicate detection
+ALTER TABLE person ADD COLUMN name_key TEXT NULL;
+UPDATE person SET name_key = lower(trim(firstname)) || char(31) || lower(trim(lastname)) WHERE name_key IS NULL;
+CREATE INDEX IF NOT EXISTS idx_person_name_key ON person (name_key);
@@ -0,0 +1,15 @@
+-- Digits of phone_number, and the same digits reversed so that a suffix lookup is a prefix range scan.
+-- Phone numbers hold at most 15 characters, so reversing the first 20 digits covers them.
+ALTER TABLE person ADD COLUMN phone_digits TEXT NULL;
+ALTER TABLE person ADD COLUMN phone_rev TEXT NULL;
+UPDATE person SET phone_digits = nullif(replace(replace(replace(replace(replace(replace(replace(
+    phone_number, ' ', ''), '-', ''), '.', ''), '(', ''), ')', ''), '+', ''), '/', ''), '')
+WHERE phone_digits IS NULL AND phone_number IS NOT NULL;
+UPDATE person SET phone_rev =
+    substr(phone_digits, 20, 1) || substr(phone_digits, 19, 1) || substr(phone_digits, 18, 1) || substr(phone_digits, 17, 1) || substr(phone_digits, 16, 1)
+    || substr(phone_digits, 15, 1) || substr(phone_digits, 14, 1) || substr(phone_digits, 13, 1) || substr(phone_digits, 12, 1) || substr(phone_digits, 11, 1)
+    || substr(phone_digits, 10, 1) || substr(phone_digits, 9, 1) || substr(phone_digits, 8, 1) || substr(phone_digits, 7, 1) || substr(phone_digits, 6, 1)
+    || substr(phone_digits, 5, 1) || substr(phone_digits, 4, 1) || substr(phone_digits, 3, 1) || substr(phone_digits, 2, 1) || substr(phone_digits, 1, 1)
+WHERE phone_rev IS NULL AND phone_digits IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_person_phone_digits ON person (phone_digits) WHERE phone_digits IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_person_phone_rev ON person (phone_rev) WHERE phone_rev IS NOT NULL;
@@ -0,0 +1,32 @@
+-- Full-text index over the searchable columns, kept in sync with person by triggers
+CREATE VIRTUAL TABLE IF NOT EXISTS person_fts USING fts5(
+    firstname,
+    lastname,
+    nickname,
+    email_address,
+    phone_number,
+    content='person',
+    content_rowid='idperson',
+    tokenize='unicode61 remove_diacritics 2'
+);
+
+CREATE TRIGGER IF NOT EXISTS person_fts_insert AFTER INSERT ON person BEGIN
+    INSERT INTO person_fts (rowid, firstname, lastname, nickname, email_address, phone_number)
+    VALUES (NEW.idperson, NEW.firstname, NEW.lastname, NEW.nickname, NEW.email_address, NEW.phone_number);
+END;
+
+CREATE TRIGGER IF NOT EXISTS person_fts_delete AFTER DELETE ON person BEGIN
+    INSERT INTO person_fts (person_fts, rowid, firstname, lastname, nickname, email_address, phone_number)
+    VALUES ('delete', OLD.idperson, OLD.firstname, OLD.lastname, OLD.nickname, OLD.email_address, OLD.phone_number);
+END;
+
+CREATE TRIGGER IF NOT EXISTS person_fts_update AFTER UPDATE OF firstname, lastname, nickname, email_address, phone_number ON person BEGIN
+    INSERT INTO person_fts (person_fts, rowid, firstname, lastname, nickname, email_address, phone_number)
+    VALUES ('delete', OLD.idperson, OLD.firstname, OLD.lastname, OLD.nickname, OLD.email_address, OLD.phone_number);
+    INSERT INTO person_fts (rowid, firstname, lastname, nickname, email_address, phone_number)
+    VALUES (NEW.idperson, NEW.firstname, NEW.lastname, NEW.nickname, NEW.email_address, NEW.phone_number);
+END;
+
+-- Index rows that existed before the full-text table was created
+INSERT INTO person_fts (person_fts) SELECT 'rebuild'
+WHERE NOT EXISTS (SELECT 1 FROM person_fts_docsize) AND EXISTS (SELECT 1 FROM person);
@@ -0,0 +1,3 @@
+-- Birth dates used to be stored as epoch milliseconds at local midnight; store them as ISO text
+UPDATE person SET birth_date = date(birth_date / 1000, 'unixepoch', 'localtime')
+WHERE typeof(birth_date) = 'integer';
@@ -0,0 +1,4 @@
+-- "MM-DD" of birth_date, so that birthdays in a period of the year are a range scan
+ALTER TABLE person ADD COLUMN birth_md TEXT NULL;
+UPDATE person SET birth_md = substr(birth_date, 6, 5) WHERE birth_md IS NULL AND birth_date IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_person_birth_md ON person (birth_md) WHERE birth_md IS NOT NULL;
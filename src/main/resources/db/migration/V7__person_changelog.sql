@@ -0,0 +1,20 @@
+-- Latest change of every person, numbered by a version that only grows. Deleted persons
+-- stay as tombstones so that clients catching up from an old version see the deletion.
+CREATE TABLE IF NOT EXISTS person_changelog (
+    version INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT,
+    idperson INTEGER NOT NULL,
+    deleted INTEGER NOT NULL DEFAULT 0
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_person_changelog_person ON person_changelog (idperson);
+
+CREATE TRIGGER IF NOT EXISTS person_changelog_insert AFTER INSERT ON person BEGIN
+    INSERT OR REPLACE INTO person_changelog (idperson, deleted) VALUES (NEW.idperson, 0);
+END;
+
+CREATE TRIGGER IF NOT EXISTS person_changelog_update AFTER UPDATE ON person BEGIN
+    INSERT OR REPLACE INTO person_changelog (idperson, deleted) VALUES (NEW.idperson, 0);
+END;
+
+CREATE TRIGGER IF NOT EXISTS person_changelog_delete AFTER DELETE ON person BEGIN
+    INSERT OR REPLACE INTO person_changelog (idperson, deleted) VALUES (OLD.idperson, 1);
+END;
@@ -0,0 +1,3 @@
+-- Row version for optimistic locking: every update increments it, and an update only
+-- applies if the row still has the version the writer read
+ALTER TABLE person ADD COLUMN version INTEGER NOT NULL DEFAULT 1;
@@ -0,0 +1,13 @@
+-- V2, V3 and V6 derived name_key, phone_digits, phone_rev and birth_md in SQL, which differs
+-- from what PersonDAOImpl writes: lower() and trim() only fold ASCII, only some phone separators
+-- were stripped, phone_rev stopped at 20 digits and any text got a birth_md. Recompute them with
+-- the Java functions, touching only the rows whose values differ.
+UPDATE person SET
+    name_key = person_name_key(firstname, lastname),
+    phone_digits = person_phone_digits(phone_number),
+    phone_rev = person_phone_reversed(phone_number),
+    birth_md = person_birth_md(birth_date)
+WHERE name_key IS NOT person_name_key(firstname, lastname)
+   OR phone_digits IS NOT person_phone_digits(phone_number)
+   OR phone_rev IS NOT person_phone_reversed(phone_number)
+   OR birth_md IS NOT person_birth_md(birth_date);
@@ -0,0 +1,108 @@
+package com.contact.dao;
+
+import com.contact.model.Person;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingPersonDAOTest {
+    private PersonDAO delegate;
+    private CachingPersonDAO cachingDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        delegate = mock(PersonDAO.class);
+        cachingDAO = new CachingPersonDAO(delegate, 2, Duration.ofMinutes(1));
+        for (int id = 1; id <= 3; id++) {
+            when(delegate.findById(id)).thenReturn(Optional.of(person(id, "Last" + id)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache")
+    void testHit() throws SQLException {
+        cachingDAO.findById(1);
+        Optional<Person> second = cachingDAO.findById(1);
+
+        assertThat(second).get().extracting(Person::getLastname).isEqualTo("Last1");
+        verify(delegate, times(1)).findById(1);
+        assertThat(cachingDAO.getHitCount()).isEqualTo(1);
+        assertThat(cachingDAO.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hand out copies of cached persons")
+    void testDefensiveCopy() throws SQLException {
+        cachingDAO.findById(1).get().setLastname("Changed");
+
+        assertThat(cachingDAO.findById(1)).get().extracting(Person::getLastname).isEqualTo("Last1");
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used person")
+    void testEviction() throws SQLException {
+        cachingDAO.findById(1);
+        cachingDAO.findById(2);
+        cachingDAO.findById(1);
+        cachingDAO.findById(3);
+
+        assertThat(cachingDAO.size()).isEqualTo(2);
+        assertThat(cachingDAO.getEvictionCount()).isEqualTo(1);
+        cachingDAO.findById(2);
+        verify(delegate, times(2)).findById(2);
+        verify(delegate, times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Should not serve expired entries")
+    void testTtl() throws SQLException {
+        CachingPersonDAO expiring = new CachingPersonDAO(delegate, 2, Duration.ZERO);
+        expiring.findById(1);
+        expiring.findById(1);
+
+        verify(delegate, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Should write through updates and invalidate deletes")
+    void testWrites() throws SQLException {
+        cachingDAO.findById(1);
+        Person updated = person(1, "Updated");
+        when(delegate.updatePerson(updated)).thenReturn(true);
+        cachingDAO.updatePerson(updated);
+
+        assertThat(cachingDAO.findById(1)).get().extracting(Person::getLastname).isEqualTo("Updated");
+
+        cachingDAO.deletePersons(List.of(1));
+        cachingDAO.findById(1);
+        verify(delegate, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Should not let a read that overlaps an update cache the older row")
+    void testReadDuringUpdate() throws SQLException {
+        Person updated = person(1, "Updated");
+        when(delegate.updatePerson(updated)).thenReturn(true);
+        when(delegate.findById(1)).thenAnswer(invocation -> {
+            cachingDAO.updatePerson(updated);
+            return Optional.of(person(1, "Last1"));
+        });
+
+        cachingDAO.findById(1);
+
+        assertThat(cachingDAO.findById(1)).get().extracting(Person::getLastname).isEqualTo("Updated");
+        verify(delegate, times(1)).findById(1);
+    }
+
+    private static Person person(int id, String lastname) {
+        Person p = new Person(lastname, "First", "Nick");
+        p.setIdperson(id);
+        return p;
+    }
+}
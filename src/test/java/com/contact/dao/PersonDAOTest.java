@@ -1,11 +1,17 @@
 package com.contact.dao;
 
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
+import com.contact.util.ConnectionPool;
+import com.contact.util.DatabaseConnection;
 import org.junit.jupiter.api.*;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -44,21 +50,67 @@ class PersonDAOTest {
         
         assertThat(found).isPresent();
         assertThat(found.get().getLastname()).isEqualTo("TestLast");
+        assertThat(found.get().getBirthDate()).isEqualTo(LocalDate.of(1995, 5, 15));
         System.out.println("✅ Test 2 passed");
     }
 
     @Test
     @Order(3)
+    @DisplayName("Should find existing names ignoring case and surrounding whitespace")
+    void testExistsByName() throws SQLException {
+        assertThat(personDAO.existsByName(" testfirst", "TESTLAST ", null)).isTrue();
+        assertThat(personDAO.existsByName("TestFirst", "TestLast", testPerson.getIdperson())).isFalse();
+        assertThat(personDAO.findExistingNameKeys(List.of(PersonDAOImpl.nameKey("TestFirst", "TestLast"),
+                PersonDAOImpl.nameKey("Nobody", "Here")))).containsExactly(PersonDAOImpl.nameKey("testfirst", "testlast"));
+        System.out.println("✅ Test 3 passed");
+    }
+
+    @Test
+    @Order(4)
     @DisplayName("Should find all persons")
     void testFindAll() throws SQLException {
         List<Person> persons = personDAO.findAll();
         
         assertThat(persons).isNotEmpty();
-        System.out.println("✅ Test 3 passed - Found " + persons.size() + " persons");
+        System.out.println("✅ Test 4 passed - Found " + persons.size() + " persons");
     }
 
     @Test
-    @Order(4)
+    @Order(5)
+    @DisplayName("Should page through persons with a keyset cursor")
+    void testFindPage() throws SQLException {
+        List<Person> all = personDAO.findAll();
+        List<Person> paged = new ArrayList<>();
+        List<Person> page = personDAO.findPage(null, null, null, 2);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            Person last = page.get(page.size() - 1);
+            page = personDAO.findPage(last.getLastname(), last.getFirstname(), last.getIdperson(), 2);
+        }
+
+        assertThat(paged).extracting(Person::getIdperson)
+            .containsExactlyInAnyOrderElementsOf(all.stream().map(Person::getIdperson).toList());
+        assertThat(paged).extracting(Person::getLastname).isSorted();
+        System.out.println("✅ Test 5 passed");
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Should page through table summaries in the same order as full persons")
+    void testFindSummaryPage() throws SQLException {
+        List<Person> persons = personDAO.findPage(null, null, null, 100_000);
+        List<PersonSummary> summaries = personDAO.findSummaryPage(null, null, null, 100_000);
+
+        assertThat(summaries).containsExactlyElementsOf(persons.stream().map(PersonSummary::of).toList());
+
+        PersonSummary first = summaries.get(0);
+        assertThat(personDAO.findSummaryPage(first.lastname(), first.firstname(), first.idperson(), 100_000))
+            .containsExactlyElementsOf(summaries.subList(1, summaries.size()));
+        System.out.println("✅ Test 6 passed");
+    }
+
+    @Test
+    @Order(7)
     @DisplayName("Should update person")
     void testUpdate() throws SQLException {
         testPerson.setPhoneNumber("555-9999");
@@ -69,11 +121,44 @@ class PersonDAOTest {
         Optional<Person> updatedPerson = personDAO.findById(testPerson.getIdperson());
         assertThat(updatedPerson).isPresent();
         assertThat(updatedPerson.get().getPhoneNumber()).isEqualTo("555-9999");
-        System.out.println("✅ Test 4 passed");
+        assertThat(updatedPerson.get().getVersion()).isEqualTo(2).isEqualTo(testPerson.getVersion());
+        System.out.println("✅ Test 7 passed");
     }
 
     @Test
-    @Order(5)
+    @Order(8)
+    @DisplayName("Should refuse an update based on a stale version")
+    void testUpdateConflict() throws SQLException {
+        Person first = personDAO.findById(testPerson.getIdperson()).orElseThrow();
+        Person second = personDAO.findById(testPerson.getIdperson()).orElseThrow();
+
+        first.setAddress("First writer");
+        assertThat(personDAO.updatePerson(first)).isTrue();
+        second.setAddress("Second writer");
+        assertThatThrownBy(() -> personDAO.updatePerson(second))
+            .isInstanceOf(OptimisticLockException.class)
+            .satisfies(e -> assertThat(((OptimisticLockException) e).getActualVersion()).isEqualTo(first.getVersion()));
+        assertThatThrownBy(() -> personDAO.updatePersons(List.of(first, second)))
+            .isInstanceOf(OptimisticLockException.class);
+
+        Person stored = personDAO.findById(testPerson.getIdperson()).orElseThrow();
+        assertThat(stored.getAddress()).isEqualTo("First writer");
+        assertThat(stored.getVersion()).isEqualTo(first.getVersion());
+
+        Person missing = new Person(first);
+        missing.setIdperson(Integer.MAX_VALUE);
+        assertThat(personDAO.updatePerson(missing)).isFalse();
+        Person current = new Person(stored);
+        assertThat(personDAO.updatePersons(List.of(current, missing))).isEqualTo(1);
+        assertThat(current.getVersion()).isEqualTo(stored.getVersion() + 1);
+        assertThat(missing.getVersion()).isEqualTo(first.getVersion());
+        stored = personDAO.findById(testPerson.getIdperson()).orElseThrow();
+        testPerson = stored;
+        System.out.println("✅ Test 8 passed");
+    }
+
+    @Test
+    @Order(9)
     @DisplayName("Should search persons by name")
     void testSearch() throws SQLException {
         List<Person> results = personDAO.searchPersonByName("Test");
@@ -82,11 +167,68 @@ class PersonDAOTest {
         assertThat(results)
             .extracting(Person::getLastname)
             .contains("TestLast");
-        System.out.println("✅ Test 5 passed");
+        assertThat(personDAO.searchPersonByName("irst testl", 1))
+            .extracting(Person::getIdperson)
+            .containsExactly(testPerson.getIdperson());
+        assertThat(personDAO.searchPersonByName("5-99")).extracting(Person::getIdperson)
+            .contains(testPerson.getIdperson());
+        assertThat(personDAO.searchPersonByName("tF")).extracting(Person::getIdperson)
+            .contains(testPerson.getIdperson());
+        assertThat(personDAO.searchPersonByName("\"*:(")).isEmpty();
+        System.out.println("✅ Test 9 passed");
     }
 
     @Test
-    @Order(6)
+    @Order(10)
+    @DisplayName("Should stream persons and release the connection on close")
+    void testStream() throws SQLException {
+        ConnectionPool pool = DatabaseConnection.getInstance().getPool();
+        List<Integer> all = personDAO.findPage(null, null, null, 100_000).stream()
+            .map(Person::getIdperson).toList();
+
+        try (Stream<Person> stream = personDAO.streamAll(2)) {
+            assertThat(pool.getActiveCount()).isEqualTo(1);
+            assertThat(stream.map(Person::getIdperson)).containsExactlyElementsOf(all);
+        }
+        try (Stream<Person> stream = personDAO.streamSearch("testf", 1)) {
+            assertThat(stream.map(Person::getIdperson)).contains(testPerson.getIdperson());
+        }
+        try (Stream<Person> stream = personDAO.streamAll(1)) {
+            assertThat(stream.limit(1)).hasSize(1);
+        }
+        assertThat(personDAO.streamSearch("  ", 10)).isEmpty();
+        assertThat(pool.getActiveCount()).isZero();
+        System.out.println("✅ Test 10 passed");
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Should find persons by phone digits and by the end of their number")
+    void testFindByPhone() throws SQLException {
+        assertThat(PersonDAOImpl.phoneDigits("+33 (6) 12.34-56")).isEqualTo("336123456");
+        assertThat(PersonDAOImpl.phoneDigits(" - ")).isNull();
+
+        assertThat(personDAO.findByPhone("555 99 99"))
+            .extracting(Person::getIdperson)
+            .contains(testPerson.getIdperson());
+        assertThat(personDAO.findByPhone("5551234"))
+            .extracting(Person::getIdperson)
+            .doesNotContain(testPerson.getIdperson());
+        assertThat(personDAO.findByPhoneSuffix("9-999", 100_000))
+            .extracting(Person::getIdperson)
+            .contains(testPerson.getIdperson())
+            .doesNotHaveDuplicates();
+        assertThat(personDAO.findByPhoneSuffix("59999", 100_000))
+            .allSatisfy(p -> assertThat(PersonDAOImpl.phoneDigits(p.getPhoneNumber())).endsWith("59999"));
+        assertThat(personDAO.findByPhoneSuffix("1234", 100_000))
+            .extracting(Person::getIdperson)
+            .doesNotContain(testPerson.getIdperson());
+        assertThat(personDAO.findByPhone("()")).isEmpty();
+        System.out.println("✅ Test 11 passed");
+    }
+
+    @Test
+    @Order(12)
     @DisplayName("Should delete person")
     void testDelete() throws SQLException {
         boolean deleted = personDAO.deletePerson(testPerson.getIdperson());
@@ -95,6 +237,101 @@ class PersonDAOTest {
         
         Optional<Person> deletedPerson = personDAO.findById(testPerson.getIdperson());
         assertThat(deletedPerson).isEmpty();
-        System.out.println("✅ Test 6 passed");
+        System.out.println("✅ Test 12 passed");
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Should create, update and delete persons in batches")
+    void testBatchOperations() throws SQLException {
+        ((PersonDAOImpl) personDAO).setBatchSize(2);
+        List<Person> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(new Person("BatchLast" + i, "BatchFirst" + i, "Batch"));
+        }
+
+        List<Integer> ids = personDAO.createPersons(batch);
+
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSorted();
+        assertThat(batch).extracting(Person::getIdperson).containsExactlyElementsOf(ids);
+        assertThat(personDAO.findById(ids.get(4))).get()
+            .extracting(Person::getLastname).isEqualTo("BatchLast4");
+
+        batch.forEach(p -> p.setNickname("Batched"));
+        assertThat(personDAO.updatePersons(batch)).isEqualTo(5);
+        assertThat(personDAO.findById(ids.get(0))).get()
+            .extracting(Person::getNickname).isEqualTo("Batched");
+
+        assertThat(personDAO.deletePersons(ids)).isEqualTo(5);
+        assertThat(personDAO.findById(ids.get(2))).isEmpty();
+        System.out.println("✅ Test 13 passed");
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Should page through birthdays in a period running over New Year")
+    void testFindBirthdaysBetween() throws SQLException {
+        List<Person> batch = new ArrayList<>();
+        for (LocalDate birthDate : List.of(LocalDate.of(1980, 1, 2), LocalDate.of(1990, 12, 30),
+                LocalDate.of(2000, 6, 1), LocalDate.of(1970, 12, 30))) {
+            Person p = new Person("BirthdayLast" + batch.size(), "BirthdayFirst", "Bday");
+            p.setBirthDate(birthDate);
+            batch.add(p);
+        }
+        List<Integer> ids = personDAO.createPersons(batch);
+        batch.get(2).setBirthDate(LocalDate.of(2000, 12, 31));
+        personDAO.updatePerson(batch.get(2));
+
+        MonthDay from = MonthDay.of(12, 30);
+        MonthDay to = MonthDay.of(1, 2);
+        List<PersonSummary> all = personDAO.findBirthdaysBetween(from, to, null, null, 100_000);
+        assertThat(all).extracting(PersonSummary::idperson)
+            .containsSubsequence(ids.get(1), ids.get(3), ids.get(2), ids.get(0));
+        assertThat(all).extracting(p -> MonthDay.from(p.birthDate()))
+            .allMatch(day -> !day.isBefore(from) || !day.isAfter(to));
+
+        List<PersonSummary> paged = new ArrayList<>();
+        List<PersonSummary> page = personDAO.findBirthdaysBetween(from, to, null, null, 1);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            PersonSummary last = page.get(page.size() - 1);
+            page = personDAO.findBirthdaysBetween(from, to, MonthDay.from(last.birthDate()), last.idperson(), 1);
+        }
+        assertThat(paged).containsExactlyElementsOf(all);
+
+        assertThat(personDAO.findBirthdaysBetween(MonthDay.of(6, 1), MonthDay.of(6, 1), null, null, 100_000))
+            .extracting(PersonSummary::idperson)
+            .doesNotContain(ids.get(2));
+        personDAO.deletePersons(ids);
+        System.out.println("✅ Test 14 passed");
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Should return only the persons changed since a version")
+    void testFindChangedSince() throws SQLException {
+        Person kept = personDAO.createPerson(new Person("ChangeLast", "Kept", "Ck"));
+        long version = personDAO.getChangeVersion();
+        assertThat(personDAO.findChangedSince(version).isEmpty()).isTrue();
+
+        Person created = personDAO.createPerson(new Person("ChangeLast", "Created", "Cc"));
+        Person deleted = personDAO.createPerson(new Person("ChangeLast", "Deleted", "Cd"));
+        created.setNickname("Updated");
+        personDAO.updatePerson(created);
+        personDAO.deletePerson(deleted.getIdperson());
+
+        ChangeSet changes = personDAO.findChangedSince(version);
+        assertThat(changes.changed()).extracting(Person::getIdperson, Person::getNickname)
+            .containsExactly(tuple(created.getIdperson(), "Updated"));
+        assertThat(changes.deleted()).containsExactly(deleted.getIdperson());
+        assertThat(changes.version()).isGreaterThan(version).isEqualTo(personDAO.getChangeVersion());
+        assertThat(personDAO.findChangedSince(changes.version()).isEmpty()).isTrue();
+        assertThat(personDAO.findChangedSince(version, 2).version()).isEqualTo(changes.version());
+        assertThat(personDAO.findChangedSince(version, 1))
+            .satisfies(c -> assertThat(c.truncated()).isTrue())
+            .satisfies(c -> assertThat(c.version()).isEqualTo(version));
+
+        personDAO.deletePersons(List.of(kept.getIdperson(), created.getIdperson()));
+        System.out.println("✅ Test 15 passed");
     }
-}
\ No newline at end of file
+}
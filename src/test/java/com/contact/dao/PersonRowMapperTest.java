@@ -0,0 +1,33 @@
+package com.contact.dao;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PersonRowMapperTest {
+
+    @Test
+    @DisplayName("Should decode ISO text and legacy epoch millis birth dates")
+    void testDecodeDates() {
+        LocalDate date = LocalDate.of(1995, 5, 15);
+        long legacyMillis = date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertThat(PersonRowMapper.toLocalDate("1995-05-15")).isEqualTo(date);
+        assertThat(PersonRowMapper.toLocalDate("1995-05-15 00:00:00")).isEqualTo(date);
+        assertThat(PersonRowMapper.toLocalDate(legacyMillis)).isEqualTo(date);
+        assertThat(PersonRowMapper.toLocalDate(null)).isNull();
+        assertThat(PersonRowMapper.toColumn(date)).isEqualTo("1995-05-15");
+    }
+
+    @Test
+    @DisplayName("Should map unreadable dates to null without throwing")
+    void testInvalidDates() {
+        assertThat(PersonRowMapper.toLocalDate("1990-02-30")).isNull();
+        assertThat(PersonRowMapper.toLocalDate("1990-13-01")).isNull();
+        assertThat(PersonRowMapper.toLocalDate("15/05/1995")).isNull();
+        assertThat(PersonRowMapper.toLocalDate("")).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.contact.io;
+
+import com.contact.model.Person;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ContactExporterTest {
+    @TempDir
+    Path dir;
+
+    private final ContactExporter exporter = new ContactExporter();
+
+    @Test
+    @DisplayName("Should write CSV with a header and quoted fields")
+    void testCsv() throws IOException {
+        Path file = dir.resolve("contacts.csv");
+        Person p = person("Doe", "John", "JD");
+        p.setAddress("1 rue \"Nationale\", Lille");
+        p.setBirthDate(LocalDate.of(1995, 5, 15));
+
+        long count = exporter.export(Stream.of(p, person("Smith", "Anna", "Annie")), file, ExportFormat.CSV, n -> {});
+
+        assertThat(count).isEqualTo(2);
+        assertThat(Files.readString(file)).isEqualTo(
+                "lastname,firstname,nickname,phone_number,address,email_address,birth_date\r\n"
+                + "Doe,John,JD,0456,\"1 rue \"\"Nationale\"\", Lille\",john@example.com,1995-05-15\r\n"
+                + "Smith,Anna,Annie,0456,,anna@example.com,\r\n");
+    }
+
+    @Test
+    @DisplayName("Should derive the file name from the chosen format")
+    void testFileNames() {
+        assertThat(ExportFormat.forFileName("contacts.VCF")).contains(ExportFormat.VCARD_3);
+        assertThat(ExportFormat.forFileName("contacts")).isEmpty();
+        assertThat(ExportFormat.CSV.withExtension("contacts")).isEqualTo("contacts.csv");
+        assertThat(ExportFormat.VCARD_4.withExtension("contacts.csv")).isEqualTo("contacts.vcf");
+        assertThat(ExportFormat.VCARD_4.withExtension("contacts.vcf")).isEqualTo("contacts.vcf");
+        assertThat(ExportFormat.CSV.withExtension("john.doe")).isEqualTo("john.doe.csv");
+    }
+
+    @Test
+    @DisplayName("Should write vCard 3.0 and 4.0 with escaped values")
+    void testVCard() throws IOException {
+        Person p = person("Doe", "John", "J;D");
+        p.setBirthDate(LocalDate.of(1995, 5, 15));
+        Path v3 = dir.resolve("v3.vcf");
+        Path v4 = dir.resolve("v4.vcf");
+
+        exporter.export(Stream.of(p), v3, ExportFormat.VCARD_3, n -> {});
+        exporter.export(Stream.of(p), v4, ExportFormat.VCARD_4, n -> {});
+
+        assertThat(Files.readString(v3)).isEqualTo("BEGIN:VCARD\r\nVERSION:3.0\r\nN:Doe;John;;;\r\nFN:John Doe\r\n"
+                + "NICKNAME:J\\;D\r\nTEL;TYPE=CELL:0456\r\nEMAIL;TYPE=INTERNET:john@example.com\r\n"
+                + "BDAY:1995-05-15\r\nEND:VCARD\r\n");
+        assertThat(Files.readString(v4)).contains("VERSION:4.0\r\n", "TEL;VALUE=text;TYPE=cell:0456\r\n",
+                "EMAIL:john@example.com\r\n", "BDAY:19950515\r\n");
+    }
+
+    @Test
+    @DisplayName("Should fold vCard lines at 75 octets")
+    void testFolding() throws IOException {
+        Person p = person("Doe", "John", "JD");
+        p.setAddress("é".repeat(100));
+        Path file = dir.resolve("long.vcf");
+
+        exporter.export(Stream.of(p), file, ExportFormat.VCARD_3, n -> {});
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).allSatisfy(line -> assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75));
+        String unfolded = String.join("\r\n", lines).replace("\r\n ", "");
+        assertThat(unfolded).contains("ADR;TYPE=HOME:;;" + "é".repeat(100) + ";;;;");
+    }
+
+    @Test
+    @DisplayName("Should report progress and keep the old file when the export fails")
+    void testProgressAndFailure() throws IOException {
+        Path file = dir.resolve("contacts.csv");
+        List<Long> progress = new ArrayList<>();
+        exporter.export(IntStream.range(0, 2500).mapToObj(i -> person("Doe" + i, "John", "JD")),
+                file, ExportFormat.CSV, progress::add);
+        assertThat(progress).containsExactly(1000L, 2000L, 2500L);
+
+        Stream<Person> failing = Stream.of(person("Doe", "John", "JD")).peek(p -> {
+            throw new UncheckedIOException(new IOException("disk gone"));
+        });
+        assertThatThrownBy(() -> exporter.export(failing, file, ExportFormat.CSV, n -> {}))
+                .hasMessageContaining("disk gone");
+        assertThat(Files.readAllLines(file)).hasSize(2501);
+        assertThat(dir.resolve("contacts.csv.part")).doesNotExist();
+    }
+
+    private static Person person(String last, String first, String nick) {
+        Person p = new Person(last, first, nick);
+        p.setPhoneNumber("0456");
+        p.setEmailAddress(first.toLowerCase() + "@example.com");
+        return p;
+    }
+}
@@ -0,0 +1,164 @@
+package com.contact.io;
+
+import com.contact.dao.PersonDAO;
+import com.contact.dao.PersonDAOImpl;
+import com.contact.model.Person;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteErrorCode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ContactImporterTest {
+    @TempDir
+    Path dir;
+
+    private PersonDAO dao;
+    private final List<Person> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dao = mock(PersonDAO.class);
+        when(dao.createPersons(anyList())).thenAnswer(invocation -> {
+            List<Person> persons = invocation.getArgument(0);
+            saved.addAll(persons);
+            return IntStream.range(0, persons.size()).boxed().toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Should import valid CSV rows in file order and report the rejected ones")
+    void testCsv() throws Exception {
+        when(dao.findExistingNameKeys(anyCollection())).thenReturn(Set.of(PersonDAOImpl.nameKey("Ada", "Lovelace")));
+        Path file = write("contacts.csv",
+                "\uFEFFfirstname,lastname,nickname,email_address,address,birth_date",
+                "John,Doe,JD,john@example.com,\"1 rue de Lille,",
+                "Lille\",1995-05-15",
+                "Anna,Smith,Annie,not-an-email,,",
+                "",
+                "Ada,Lovelace,Ada,,,",
+                "Mike,Brown,MB,,,",
+                "JOHN , doe,Again,,,",
+                "Zoe,Martin,Z,,,1990-02-30");
+
+        ImportReport report = new ContactImporter(dao, 2, 3).importFile(file, (n, f) -> {});
+
+        assertThat(report.read()).isEqualTo(6);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(saved).extracting(Person::getLastname).containsExactly("Doe", "Brown");
+        assertThat(saved.get(0).getAddress()).isEqualTo("1 rue de Lille,\nLille");
+        assertThat(saved.get(0).getBirthDate()).isEqualTo(LocalDate.of(1995, 5, 15));
+        assertThat(report.rejected()).extracting(ImportReport.RowError::line).containsExactly(4, 6, 8, 9);
+        assertThat(report.rejected()).extracting(ImportReport.RowError::message).containsExactly(
+                "Invalid email format",
+                "Duplicate person (same firstname + lastname)",
+                "Duplicate person (same firstname + lastname) in file",
+                "Invalid birth date: 1990-02-30");
+    }
+
+    @Test
+    @DisplayName("Should read back vCard 3.0 and 4.0 exports")
+    void testVCardRoundTrip() throws Exception {
+        Person p = new Person("Doe", "John", "J;D");
+        p.setPhoneNumber("+33 6 12 34 56");
+        p.setEmailAddress("john@example.com");
+        p.setAddress("1, rue de Lille " + "x".repeat(80));
+        p.setBirthDate(LocalDate.of(1995, 5, 15));
+
+        for (ExportFormat format : List.of(ExportFormat.VCARD_3, ExportFormat.VCARD_4)) {
+            saved.clear();
+            Path file = dir.resolve(format + ".vcf");
+            new ContactExporter().export(Stream.of(p, new Person("Smith", "Anna", "Annie")), file, format, n -> {});
+
+            ImportReport report = new ContactImporter(dao, 10, 2).importFile(file, (n, f) -> {});
+
+            assertThat(report.imported()).isEqualTo(2);
+            assertThat(saved.get(0)).usingRecursiveComparison().isEqualTo(p);
+            assertThat(saved.get(1).getFullName()).isEqualTo("Anna Smith");
+        }
+    }
+
+    @Test
+    @DisplayName("Should save a failing chunk row by row")
+    void testChunkFallback() throws Exception {
+        when(dao.createPersons(anyList())).thenThrow(uniqueViolation());
+        when(dao.createPerson(any())).thenAnswer(invocation -> {
+            Person person = invocation.getArgument(0);
+            if ("Smith".equals(person.getLastname())) {
+                throw uniqueViolation();
+            }
+            saved.add(person);
+            return person;
+        });
+        Path file = write("contacts.csv", "lastname,firstname,nickname,phone_number",
+                "Doe,John,JD,0456123", "Smith,Anna,Annie,0456123", "Brown,Mike,MB,");
+
+        ImportReport report = new ContactImporter(dao, 10, 2).importFile(file, (n, f) -> {});
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(saved).extracting(Person::getLastname).containsExactly("Doe", "Brown");
+        assertThat(report.rejected()).singleElement()
+                .extracting(ImportReport.RowError::line).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should stop on database errors instead of rejecting the rows")
+    void testDatabaseFailure() throws Exception {
+        when(dao.createPersons(anyList())).thenThrow(uniqueViolation());
+        when(dao.createPerson(any())).thenThrow(
+                new SQLException("[SQLITE_FULL] database or disk is full", null, SQLiteErrorCode.SQLITE_FULL.code));
+        Path file = write("contacts.csv", "lastname,firstname,nickname", "Doe,John,JD", "Brown,Mike,MB");
+
+        assertThatThrownBy(() -> new ContactImporter(dao, 10, 2).importFile(file, (n, f) -> {}))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("disk is full");
+    }
+
+    @Test
+    @DisplayName("Should import many rows and report progress")
+    void testManyRows() throws Exception {
+        List<String> lines = new ArrayList<>(List.of("lastname,firstname,nickname"));
+        IntStream.range(0, 5000).forEach(i -> lines.add("Last" + i + ",First" + i + ",N"));
+        Path file = write("many.csv", lines.toArray(String[]::new));
+        List<Double> progress = new ArrayList<>();
+
+        ImportReport report = new ContactImporter(dao, 1000, 4).importFile(file, (n, f) -> progress.add(f));
+
+        assertThat(report.imported()).isEqualTo(5000);
+        assertThat(saved).extracting(Person::getLastname).startsWith("Last0", "Last1").endsWith("Last4999");
+        assertThat(progress).isSorted().last().isEqualTo(1.0);
+        verify(dao, times(5)).createPersons(anyList());
+    }
+
+    @Test
+    @DisplayName("Should refuse a CSV file without name columns")
+    void testMissingHeader() throws IOException {
+        Path file = write("contacts.csv", "name,phone", "John Doe,0456");
+
+        assertThatThrownBy(() -> new ContactImporter(dao).importFile(file, (n, f) -> {}))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("lastname");
+    }
+
+    private static SQLException uniqueViolation() {
+        return new SQLException("[SQLITE_CONSTRAINT_UNIQUE] UNIQUE constraint failed: person.phone_number", null,
+                SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE.code);
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.writeString(dir.resolve(name), String.join("\r\n", lines) + "\r\n");
+    }
+}
@@ -0,0 +1,101 @@
+package com.contact.metrics;
+
+import com.contact.dao.PersonDAO;
+import com.contact.model.Person;
+import org.junit.jupiter.api.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MetricsRegistryTest {
+    private static final String DOMAIN = "com.contact.test";
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private MetricsRegistry metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry(DOMAIN, server);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.close();
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void testPercentiles() {
+        Timer timer = metrics.timer("op");
+        for (int ms = 1; ms <= 100; ms++) {
+            timer.record(TimeUnit.MILLISECONDS.toNanos(ms), 2, ms % 10 == 0);
+        }
+
+        Timer.Snapshot snapshot = timer.snapshot();
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.errors()).isEqualTo(10);
+        assertThat(snapshot.rows()).isEqualTo(200);
+        assertThat(snapshot.meanMillis()).isCloseTo(50.5, within(0.01));
+        assertThat(snapshot.p50Millis()).isCloseTo(50, withinPercentage(7));
+        assertThat(snapshot.p99Millis()).isCloseTo(99, withinPercentage(7));
+        assertThat(snapshot.maxMillis()).isCloseTo(100, within(0.01));
+
+        timer.reset();
+        assertThat(timer.snapshot().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should time calls, rows and errors of an instrumented interface")
+    void testInstrument() throws SQLException {
+        PersonDAO target = mock(PersonDAO.class);
+        when(target.findAll()).thenReturn(List.of(new Person(), new Person(), new Person()));
+        when(target.deletePerson(1)).thenThrow(new SQLException("locked"));
+        PersonDAO dao = metrics.instrument(PersonDAO.class, target, "dao");
+
+        assertThat(dao.findAll()).hasSize(3);
+        assertThatThrownBy(() -> dao.deletePerson(1)).isInstanceOf(SQLException.class).hasMessage("locked");
+
+        assertThat(metrics.timer("dao.findAll").getCount()).isEqualTo(1);
+        assertThat(metrics.timer("dao.findAll").getRowCount()).isEqualTo(3);
+        assertThat(metrics.timer("dao.deletePerson").getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expose timers and gauges as MXBeans until closed")
+    void testJmx() throws Exception {
+        metrics.timer("dao.findById").record(1_000_000, 1, false);
+        metrics.gauge("pool.idle", () -> 3);
+
+        ObjectName timer = new ObjectName(DOMAIN + ":type=Timer,name=" + ObjectName.quote("dao.findById"));
+        ObjectName gauge = new ObjectName(DOMAIN + ":type=Gauge,name=" + ObjectName.quote("pool.idle"));
+        assertThat(server.getAttribute(timer, "Count")).isEqualTo(1L);
+        assertThat(server.getAttribute(gauge, "Value")).isEqualTo(3L);
+
+        metrics.close();
+        assertThat(server.isRegistered(timer)).isFalse();
+        assertThat(server.isRegistered(gauge)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hand periodic snapshots to the reporter sink")
+    void testReporter() throws InterruptedException {
+        metrics.timer("service.create").record(2_000_000, 1, false);
+        metrics.gauge("cache.size", () -> 42);
+        BlockingQueue<String> reports = new LinkedBlockingQueue<>();
+
+        metrics.startReporter(Duration.ofMillis(20), reports::add);
+
+        String report = reports.poll(5, TimeUnit.SECONDS);
+        assertThat(report).contains("service.create", "count=1", "cache.size", "42");
+    }
+}
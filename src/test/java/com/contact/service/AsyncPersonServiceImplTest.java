@@ -0,0 +1,73 @@
+package com.contact.service;
+
+import com.contact.model.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncPersonServiceImplTest {
+
+    private PersonService syncService;
+    private AsyncPersonService service;
+
+    @BeforeEach
+    void setUp() {
+        syncService = mock(PersonService.class);
+        service = new AsyncPersonServiceImpl(syncService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void findAll_completesWithResult() throws Exception {
+        Person p = new Person("Doe", "John", "JD");
+        when(syncService.findAll()).thenReturn(List.of(p));
+
+        assertEquals(List.of(p), service.findAll().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void create_completesExceptionally_withServiceException() throws SQLException {
+        Person p = new Person("Doe", "John", "JD");
+        when(syncService.create(p)).thenThrow(new IllegalStateException("Duplicate person"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> service.create(p).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, AsyncPersonService.unwrap(e));
+    }
+
+    @Test
+    void cancel_interruptsRunningCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(syncService.findAll()).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+
+        CompletableFuture<List<Person>> future = service.findAll();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+    }
+}
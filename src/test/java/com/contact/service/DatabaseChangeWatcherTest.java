@@ -0,0 +1,48 @@
+package com.contact.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseChangeWatcherTest {
+
+    private DatabaseChangeWatcher watcher;
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) watcher.close();
+    }
+
+    @Test
+    void reportsEachNewVersionOnce() throws Exception {
+        PersonService service = mock(PersonService.class);
+        when(service.getChangeVersion())
+                .thenReturn(5L, 5L, 7L, 7L)
+                .thenThrow(new SQLException("database is locked"))
+                .thenReturn(9L);
+        BlockingQueue<Long> versions = new LinkedBlockingQueue<>();
+        watcher = new DatabaseChangeWatcher(service, Duration.ofMillis(5), Runnable::run, versions::add);
+
+        watcher.start();
+
+        assertEquals(7L, versions.poll(5, TimeUnit.SECONDS));
+        assertEquals(9L, versions.poll(5, TimeUnit.SECONDS));
+        watcher.close();
+        assertNull(versions.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void rejectsNonPositiveInterval() {
+        PersonService service = mock(PersonService.class);
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatabaseChangeWatcher(service, Duration.ZERO, Runnable::run, v -> { }));
+    }
+}
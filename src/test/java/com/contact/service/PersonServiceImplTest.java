@@ -1,14 +1,20 @@
 package com.contact.service;
 
+import com.contact.dao.ChangeSet;
+import com.contact.dao.OptimisticLockException;
 import com.contact.dao.PersonDAO;
+import com.contact.dao.PersonDAOImpl;
 import com.contact.model.Person;
+import com.contact.model.PersonSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,6 +66,35 @@ class PersonServiceImplTest {
         assertThrows(IllegalStateException.class, () -> service.create(p2));
     }
 
+    @Test
+    void create_shouldThrow_whenDuplicateIgnoringCaseAndWhitespace() throws SQLException {
+        service.create(basePerson("Doe", "John", "JD"));
+
+        Person p2 = basePerson("  DOE ", "john ", "Johnny");
+        assertThrows(IllegalStateException.class, () -> service.create(p2));
+    }
+
+    @Test
+    void update_shouldAllowKeepingOwnName() throws SQLException {
+        Person created = service.create(basePerson("Doe", "John", "JD"));
+        created.setNickname("Johnny");
+
+        assertTrue(service.update(created));
+    }
+
+    @Test
+    void update_shouldThrow_whenChangedSinceRead() throws SQLException {
+        Person created = service.create(basePerson("Doe", "John", "JD"));
+        Person first = service.findById(created.getIdperson()).orElseThrow();
+        Person second = service.findById(created.getIdperson()).orElseThrow();
+
+        first.setNickname("Johnny");
+        assertTrue(service.update(first));
+        second.setNickname("Jack");
+        assertThrows(OptimisticLockException.class, () -> service.update(second));
+        assertEquals("Johnny", service.findById(created.getIdperson()).orElseThrow().getNickname());
+    }
+
     @Test
     void update_shouldThrow_whenIdMissing() {
         Person p = basePerson("Doe", "John", "JD");
@@ -94,6 +129,78 @@ class PersonServiceImplTest {
         assertEquals("Doe", result.get(0).getLastname());
     }
 
+    @Test
+    void searchByName_withLimit_capsResults() throws SQLException {
+        service.create(basePerson("Doe", "John", "JD"));
+        service.create(basePerson("Doering", "Jane", "JA"));
+
+        assertEquals(1, service.searchByName("doe", 1).size());
+        assertThrows(IllegalArgumentException.class, () -> service.searchByName("doe", 0));
+    }
+
+    @Test
+    void findByPhone_matchesDigitsOrSuffix() throws SQLException {
+        service.create(basePerson("Doe", "John", "JD"));
+        Person other = basePerson("Smith", "Anna", "AS");
+        other.setPhoneNumber("0499 000 189");
+        service.create(other);
+
+        assertEquals(List.of("John"), service.findByPhone("32123456789").stream().map(Person::getFirstname).toList());
+        assertEquals(List.of("Anna"), service.findByPhoneSuffix("0-189").stream().map(Person::getFirstname).toList());
+        assertEquals(2, service.findByPhoneSuffix("89").size());
+        assertEquals(1, service.findByPhoneSuffix("89", 1).size());
+        assertThrows(IllegalArgumentException.class, () -> service.findByPhone(" - "));
+        assertThrows(IllegalArgumentException.class, () -> service.findByPhoneSuffix(null));
+        assertThrows(IllegalArgumentException.class, () -> service.findByPhoneSuffix("11", 0));
+    }
+
+    @Test
+    void findBirthdaysBetween_wrapsAroundNewYear() throws SQLException {
+        Person june = basePerson("Doe", "John", "JD");
+        june.setBirthDate(LocalDate.of(1990, 6, 1));
+        Person january = basePerson("Smith", "Anna", "AS");
+        january.setBirthDate(LocalDate.of(1985, 1, 3));
+        Person december = basePerson("Brown", "Bob", "BB");
+        december.setBirthDate(LocalDate.of(1970, 12, 28));
+        service.create(june);
+        service.create(january);
+        service.create(december);
+
+        assertEquals(List.of("Bob", "Anna"), service.findBirthdaysBetween(MonthDay.of(12, 1), MonthDay.of(1, 31))
+                .stream().map(PersonSummary::firstname).toList());
+        assertEquals(List.of("John"), service.findBirthdaysBetween(MonthDay.of(5, 1), MonthDay.of(6, 1))
+                .stream().map(PersonSummary::firstname).toList());
+        assertThrows(IllegalArgumentException.class, () -> service.findBirthdaysBetween(null, MonthDay.of(1, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findBirthdaysBetween(MonthDay.of(1, 1), MonthDay.of(2, 1), MonthDay.of(1, 5), null, 10));
+    }
+
+    @Test
+    void streamByName_streamsMatchesOrEveryone() throws SQLException {
+        service.create(basePerson("Doe", "John", "JD"));
+        service.create(basePerson("Smith", "Ana", "AS"));
+
+        try (Stream<Person> stream = service.streamByName("smi", 100)) {
+            assertEquals(List.of("Smith"), stream.map(Person::getLastname).toList());
+        }
+        try (Stream<Person> stream = service.streamByName(" ", 100)) {
+            assertEquals(2, stream.count());
+        }
+        assertThrows(IllegalArgumentException.class, () -> service.streamAll(0));
+    }
+
+    @Test
+    void findChangedSince_shouldThrow_whenVersionNegative() throws SQLException {
+        assertThrows(IllegalArgumentException.class, () -> service.findChangedSince(-1));
+        assertTrue(service.findChangedSince(service.getChangeVersion()).isEmpty());
+    }
+
+    @Test
+    void findPage_shouldThrow_whenLimitInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.findSummaryPage(null, null, null, -1));
+    }
+
     /**
      * Creates a valid Person instance for testing purposes,
      *with customization of lastname, firstname, and nickname.
@@ -133,6 +240,7 @@ class PersonServiceImplTest {
             int id = idGen.getAndIncrement();
             Person copy = copyOf(person);
             copy.setIdperson(id);
+            copy.setVersion(1);
             store.put(id, copy);
             return copyOf(copy);
         }
@@ -162,17 +270,61 @@ class PersonServiceImplTest {
             return store.values().stream().map(FakePersonDAO::copyOf).toList();
         }
 
-        
+
+        /**
+         * Returns the persons sorted by lastname, firstname and id that come after the given key.
+         *
+         * @param afterLastname lastname of the key, ignored when afterId is null
+         * @param afterFirstname firstname of the key, ignored when afterId is null
+         * @param afterId id of the key, or null to start from the beginning
+         * @param limit the maximum number of persons to return
+         * @return a list of copies of the matching persons
+         */
+        @Override
+        public List<Person> findPage(String afterLastname, String afterFirstname, Integer afterId, int limit) {
+            Comparator<Person> order = Comparator.comparing(Person::getLastname)
+                    .thenComparing(Person::getFirstname)
+                    .thenComparing(Person::getIdperson);
+            Person key = null;
+            if (afterId != null) {
+                key = new Person(afterLastname, afterFirstname, null);
+                key.setIdperson(afterId);
+            }
+            Person after = key;
+            return store.values().stream()
+                    .filter(p -> after == null || order.compare(p, after) > 0)
+                    .sorted(order)
+                    .limit(limit)
+                    .map(FakePersonDAO::copyOf)
+                    .toList();
+        }
+
+        /**
+         * Returns the same page as findPage, reduced to the summary columns.
+         *
+         * @return summaries of the matching persons
+         */
+        @Override
+        public List<PersonSummary> findSummaryPage(String afterLastname, String afterFirstname, Integer afterId, int limit) {
+            return findPage(afterLastname, afterFirstname, afterId, limit).stream().map(PersonSummary::of).toList();
+        }
+
         /**
          * Updates a person in memory store, returns false if person or id are null, or if no person with given id exists
          * 
          * @param person to update 
          * @returns True if update was successful or false if not
+         * @throws OptimisticLockException if the person has a version other than the stored one
          */
         @Override
-        public boolean updatePerson(Person person) {
+        public boolean updatePerson(Person person) throws OptimisticLockException {
             if (person == null || person.getIdperson() == null) return false;
-            if (!store.containsKey(person.getIdperson())) return false;
+            Person stored = store.get(person.getIdperson());
+            if (stored == null) return false;
+            if (person.getVersion() != null && !person.getVersion().equals(stored.getVersion())) {
+                throw new OptimisticLockException(person.getIdperson(), person.getVersion(), stored.getVersion());
+            }
+            person.setVersion(stored.getVersion() + 1);
             store.put(person.getIdperson(), copyOf(person));
             return true;
         }
@@ -209,6 +361,221 @@ class PersonServiceImplTest {
                     .toList();
         }
 
+        /**
+         * Same as {@link #searchPersonByName(String)} but returns at most limit persons.
+         *
+         * @param searchTerm the string that we are searching for
+         * @param limit the maximum number of results
+         * @return a list of matching persons as defensive copies
+         */
+        @Override
+        public List<Person> searchPersonByName(String searchTerm, int limit) {
+            List<Person> all = searchPersonByName(searchTerm);
+            return limit < 0 ? all : all.stream().limit(limit).toList();
+        }
+
+        /**
+         * Streams all persons from the in-memory store.
+         *
+         * @param fetchSize ignored, everything is already in memory
+         * @return a stream over defensive copies of all persons
+         */
+        @Override
+        public Stream<Person> streamAll(int fetchSize) {
+            return findAll().stream();
+        }
+
+        /**
+         * Streams the persons matching the search term.
+         *
+         * @param searchTerm the string that we are searching for
+         * @param fetchSize ignored, everything is already in memory
+         * @return a stream over defensive copies of the matching persons
+         */
+        @Override
+        public Stream<Person> streamSearch(String searchTerm, int fetchSize) {
+            return searchPersonByName(searchTerm).stream();
+        }
+
+        /**
+         * Checks whether another person has the same firstname and lastname,
+         * ignoring case and surrounding whitespace.
+         *
+         * @param firstname the firstname to look for
+         * @param lastname the lastname to look for
+         * @param excludeId id of a person to ignore, or null
+         * @return true if a matching person exists
+         */
+        @Override
+        public boolean existsByName(String firstname, String lastname, Integer excludeId) {
+            return store.values().stream().anyMatch(p ->
+                    !Objects.equals(p.getIdperson(), excludeId)
+                            && normalize(p.getFirstname()).equals(normalize(firstname))
+                            && normalize(p.getLastname()).equals(normalize(lastname)));
+        }
+
+        /**
+         * Returns the given name keys that belong to a stored person.
+         *
+         * @param nameKeys keys built by {@link PersonDAOImpl#nameKey}
+         * @return the keys already taken
+         */
+        @Override
+        public Set<String> findExistingNameKeys(Collection<String> nameKeys) {
+            Set<String> found = new HashSet<>();
+            for (Person p : store.values()) {
+                String key = PersonDAOImpl.nameKey(p.getFirstname(), p.getLastname());
+                if (nameKeys.contains(key)) found.add(key);
+            }
+            return found;
+        }
+
+        private static String normalize(String s) {
+            return s == null ? "" : s.trim().toLowerCase();
+        }
+
+        /**
+         * Returns the persons whose birthday falls in the period, in birthday order from its
+         * first day, after the given key.
+         *
+         * @return summaries of the matching persons
+         */
+        @Override
+        public List<PersonSummary> findBirthdaysBetween(MonthDay from, MonthDay to, MonthDay afterDay, Integer afterId,
+                                                        int limit) {
+            // Days of the period counted from its first day, so that the order wraps with the year
+            Comparator<PersonSummary> order = Comparator
+                    .comparingInt((PersonSummary p) -> offset(from, MonthDay.from(p.birthDate())))
+                    .thenComparing(PersonSummary::idperson);
+            int end = offset(from, to);
+            return store.values().stream()
+                    .filter(p -> p.getBirthDate() != null)
+                    .map(PersonSummary::of)
+                    .filter(p -> offset(from, MonthDay.from(p.birthDate())) <= end)
+                    .filter(p -> afterDay == null || offset(from, MonthDay.from(p.birthDate())) > offset(from, afterDay)
+                            || (MonthDay.from(p.birthDate()).equals(afterDay) && p.idperson() > afterId))
+                    .sorted(order)
+                    .limit(limit)
+                    .toList();
+        }
+
+        /**
+         * The fake keeps no change log, so its version never moves.
+         *
+         * @return always 0
+         */
+        @Override
+        public long getChangeVersion() {
+            return 0;
+        }
+
+        /**
+         * Returns an empty change set, as the fake keeps no change log.
+         *
+         * @return no changes, at the given version
+         */
+        @Override
+        public ChangeSet findChangedSince(long version) {
+            return new ChangeSet(version, List.of(), List.of());
+        }
+
+        /**
+         * Returns an empty change set, as the fake keeps no change log.
+         *
+         * @return no changes, at the given version
+         */
+        @Override
+        public ChangeSet findChangedSince(long version, int limit) {
+            return findChangedSince(version);
+        }
+
+        private static int offset(MonthDay from, MonthDay day) {
+            int days = day.atYear(2000).getDayOfYear() - from.atYear(2000).getDayOfYear();
+            return days < 0 ? days + 366 : days;
+        }
+
+        /**
+         * Finds the persons whose phone number has the same digits.
+         *
+         * @param phoneNumber the number to look for, separators ignored
+         * @return copies of the matching persons
+         */
+        @Override
+        public List<Person> findByPhone(String phoneNumber) {
+            String digits = PersonDAOImpl.phoneDigits(phoneNumber);
+            return store.values().stream()
+                    .filter(p -> digits != null && digits.equals(PersonDAOImpl.phoneDigits(p.getPhoneNumber())))
+                    .map(FakePersonDAO::copyOf)
+                    .toList();
+        }
+
+        /**
+         * Finds the persons whose phone number ends with the given digits.
+         *
+         * @param digits the end of the number, separators ignored
+         * @param limit the maximum number of persons to return
+         * @return copies of the matching persons
+         */
+        @Override
+        public List<Person> findByPhoneSuffix(String digits, int limit) {
+            String suffix = PersonDAOImpl.phoneDigits(digits);
+            return store.values().stream()
+                    .filter(p -> {
+                        String phone = PersonDAOImpl.phoneDigits(p.getPhoneNumber());
+                        return suffix != null && phone != null && phone.endsWith(suffix);
+                    })
+                    .limit(limit)
+                    .map(FakePersonDAO::copyOf)
+                    .toList();
+        }
+
+        /**
+         * Creates every person in order and returns the generated ids.
+         *
+         * @param persons the persons to create
+         * @return the ids assigned to the persons, in input order
+         */
+        @Override
+        public List<Integer> createPersons(List<Person> persons) {
+            List<Integer> ids = new ArrayList<>();
+            for (Person p : persons) {
+                Person created = createPerson(p);
+                p.setIdperson(created.getIdperson());
+                ids.add(created.getIdperson());
+            }
+            return ids;
+        }
+
+        /**
+         * Updates every person that exists in the in-memory store.
+         *
+         * @param persons the persons to update
+         * @return the number of persons updated
+         */
+        @Override
+        public int updatePersons(Collection<Person> persons) throws OptimisticLockException {
+            int rows = 0;
+            for (Person p : persons) {
+                if (updatePerson(p)) rows++;
+            }
+            return rows;
+        }
+
+        /**
+         * Deletes every person with one of the given ids.
+         *
+         * @param ids the identifiers to delete
+         * @return the number of persons deleted
+         */
+        @Override
+        public int deletePersons(Collection<Integer> ids) {
+            int rows = 0;
+            for (Integer id : ids) {
+                if (deletePerson(id)) rows++;
+            }
+            return rows;
+        }
+
         /**
          * Checks whether the string contains the specified 
          * lowercase search term in a case-insensitive manner.
@@ -239,6 +606,7 @@ class PersonServiceImplTest {
             c.setAddress(p.getAddress());
             c.setEmailAddress(p.getEmailAddress());
             c.setBirthDate(p.getBirthDate());
+            c.setVersion(p.getVersion());
             return c;
         }
     }
@@ -0,0 +1,78 @@
+package com.contact.ui;
+
+import com.contact.model.PersonSummary;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarPersonListTest {
+    private ColumnarPersonList persons;
+
+    @BeforeEach
+    void setUp() {
+        persons = new ColumnarPersonList(List.of(
+                person(1, "Doe", "John", "JD", "0456123", "john@example.com", LocalDate.of(1990, 2, 28)),
+                person(2, "Doe", "Anna", "Annie", null, "anna@example.com", null),
+                person(3, "Gray", "Dorian", "Gee", "0999", "no-domain", LocalDate.of(1854, 10, 16))));
+    }
+
+    @Test
+    @DisplayName("Should read back every column, sharing repeated values")
+    void testRoundTrip() {
+        assertThat(persons).containsExactly(
+                person(1, "Doe", "John", "JD", "0456123", "john@example.com", LocalDate.of(1990, 2, 28)),
+                person(2, "Doe", "Anna", "Annie", null, "anna@example.com", null),
+                person(3, "Gray", "Dorian", "Gee", "0999", "no-domain", LocalDate.of(1854, 10, 16)));
+        assertThat(persons.get(0).lastname()).isSameAs(persons.get(1).lastname());
+        assertThat(persons.idAt(2)).isEqualTo(3);
+        // Doe, John, JD, example.com, Anna, Annie, Gray, Dorian, Gee
+        assertThat(persons.dictionarySize()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should report inserts, updates and removals to listeners")
+    void testListChanges() {
+        List<String> events = new ArrayList<>();
+        persons.addListener((ListChangeListener<PersonSummary>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(p -> events.add("-" + p.idperson()));
+                change.getAddedSubList().forEach(p -> events.add("+" + p.idperson()));
+            }
+        });
+
+        persons.add(1, person(4, "Doe", "Bob", "B", null, null, null));
+        persons.set(0, person(1, "Doe", "Johnny", "JD", null, "johnny@example.org", null));
+        persons.remove(2);
+        persons.subList(0, 2).clear();
+
+        assertThat(events).containsExactly("+4", "-1", "+1", "-2", "-1", "-4");
+        assertThat(persons).extracting(PersonSummary::idperson).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Should keep removed rows readable after clearing")
+    void testClear() {
+        List<PersonSummary> removed = new ArrayList<>();
+        persons.addListener((ListChangeListener<PersonSummary>) change -> {
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+            }
+        });
+
+        persons.setAll(List.of(person(5, "Smith", "Jane", "J", null, null, null)));
+
+        assertThat(removed).extracting(PersonSummary::lastname).containsExactly("Doe", "Doe", "Gray");
+        assertThat(persons).extracting(PersonSummary::idperson).containsExactly(5);
+        assertThat(persons.dictionarySize()).isEqualTo(3);
+    }
+
+    private static PersonSummary person(int id, String last, String first, String nick, String phone,
+                                        String email, LocalDate birthDate) {
+        return new PersonSummary(id, last, first, nick, phone, email, birthDate);
+    }
+}
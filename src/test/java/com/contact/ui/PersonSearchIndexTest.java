@@ -0,0 +1,67 @@
+package com.contact.ui;
+
+import com.contact.model.PersonSummary;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.*;
+
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PersonSearchIndexTest {
+    private ObservableList<PersonSummary> persons;
+    private PersonSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        persons = FXCollections.observableArrayList(
+                person(1, "Doe", "John", "JD", "0456123", "john@example.com"),
+                person(2, "Smith", "Anna", "Annie", null, "anna@mail.org"),
+                person(3, "Dorian", "Gray", "Gee", "0999", null));
+        index = new PersonSearchIndex();
+        index.attach(persons);
+    }
+
+    @Test
+    @DisplayName("Should match substrings of every searched field")
+    void testSubstringSearch() {
+        assertThat(matching("ohn do")).containsExactly(1);
+        assertThat(matching("NNIE")).containsExactly(2);
+        assertThat(matching("456")).containsExactly(1);
+        assertThat(matching("mail.org")).containsExactly(2);
+        assertThat(matching("do")).containsExactly(1, 3);
+        assertThat(index.search("   ").test(42)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not match across field boundaries")
+    void testFieldBoundaries() {
+        assertThat(matching("jdj")).isEmpty();
+        assertThat(matching("doe jd")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow list changes")
+    void testListChanges() {
+        persons.remove(0);
+        assertThat(matching("john")).isEmpty();
+
+        persons.set(1, person(3, "Dorian", "Grayson", "Gee", "0999", null));
+        assertThat(matching("grayson")).containsExactly(3);
+
+        persons.add(person(4, "Johnson", "Mike", "MJ", null, null));
+        assertThat(matching("john")).containsExactly(4);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private int[] matching(String query) {
+        IntPredicate matches = index.search(query);
+        return IntStream.rangeClosed(1, 4).filter(matches).toArray();
+    }
+
+    private static PersonSummary person(int id, String last, String first, String nick, String phone, String email) {
+        return new PersonSummary(id, last, first, nick, phone, email, null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.contact.util;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConnectionPoolTest {
+    @TempDir
+    static Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("pool-test.db");
+        pool = new ConnectionPool(url, 2, 200, 30000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Should reuse the physical connection after close")
+    void testReuse() throws SQLException {
+        String first;
+        try (Connection conn = pool.getConnection()) {
+            first = conn.unwrap(Connection.class).toString();
+        }
+        try (Connection conn = pool.getConnection()) {
+            assertThat(conn.unwrap(Connection.class).toString()).isEqualTo(first);
+        }
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        assertThat(pool.getActiveCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should open connections in WAL mode")
+    void testWalMode() throws SQLException {
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualToIgnoringCase("wal");
+        }
+    }
+
+    @Test
+    @DisplayName("Should time out when the pool is exhausted")
+    void testAcquireTimeout() throws SQLException {
+        try (Connection c1 = pool.getConnection(); Connection c2 = pool.getConnection()) {
+            assertThatThrownBy(pool::getConnection).isInstanceOf(SQLTimeoutException.class);
+        }
+        try (Connection conn = pool.getConnection()) {
+            assertThat(conn.isClosed()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll back work left open when a connection is returned")
+    void testResetOnRelease() throws SQLException {
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS t (v INTEGER)");
+            conn.setAutoCommit(false);
+            stmt.execute("INSERT INTO t VALUES (1)");
+        }
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+            assertThat(conn.getAutoCommit()).isTrue();
+            rs.next();
+            assertThat(rs.getInt(1)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse prepared statements across leases")
+    void testStatementCache() throws SQLException {
+        String sql = "SELECT ? + 1";
+        PreparedStatement first;
+        try (Connection conn = pool.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            first = pstmt.unwrap(PreparedStatement.class);
+            pstmt.setInt(1, 41);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(42);
+            }
+        }
+        try (Connection conn = pool.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            assertThat(pstmt.unwrap(PreparedStatement.class)).isSameAs(first);
+            try (PreparedStatement nested = conn.prepareStatement(sql)) {
+                assertThat(nested.unwrap(PreparedStatement.class)).isNotSameAs(first);
+            }
+        }
+    }
+}
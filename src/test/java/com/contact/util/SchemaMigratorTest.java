@@ -0,0 +1,119 @@
+package com.contact.util;
+
+import com.contact.dao.PersonDAOImpl;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SchemaMigratorTest {
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("migrate-test.db"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    @DisplayName("Should apply the bundled migrations once and skip them afterwards")
+    void testBundledMigrations() throws Exception {
+        SchemaMigrator migrator = DatabaseConnection.migrator();
+        int count = migrator.getMigrations().size();
+
+        assertThat(migrator.migrate(conn)).isEqualTo(count);
+        assertThat(migrator.migrate(conn)).isZero();
+        assertThat(queryInt("SELECT count(*) FROM schema_version")).isEqualTo(count);
+        assertThat(queryInt("SELECT count(*) FROM sqlite_master WHERE name = 'person_changelog_update'")).isEqualTo(1);
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO person (lastname, firstname, nickname) VALUES ('Doe', 'John', 'JD')");
+        }
+        assertThat(queryInt("SELECT count(*) FROM person_fts WHERE person_fts MATCH 'doe'")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bring a database created before schema_version up to date")
+    void testLegacyDatabase() throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE person (idperson INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, "
+                    + "lastname VARCHAR(45) NOT NULL, firstname VARCHAR(45) NOT NULL, nickname VARCHAR(45) NOT NULL, "
+                    + "phone_number VARCHAR(15) NULL UNIQUE, address VARCHAR(200) NULL, "
+                    + "email_address VARCHAR(150) NULL, birth_date DATE NULL)");
+            stmt.execute("INSERT INTO person (lastname, firstname, nickname, phone_number) VALUES ('Doe', 'John', 'JD', '04-56')");
+            stmt.execute("INSERT INTO person (lastname, firstname, nickname) VALUES ('ZOÉ ', ' Émile', 'EZ')");
+            stmt.execute("INSERT INTO person (lastname, firstname, nickname, phone_number) VALUES ('Roe', 'Jane', 'JR', '555 1234 x12')");
+            stmt.execute("INSERT INTO person (lastname, firstname, nickname, birth_date) VALUES "
+                    + "('A', 'A', 'valid', '1995-05-15'), ('B', 'B', 'invalid', '1990-02-30'), ('C', 'C', 'text', 'unknown')");
+        }
+
+        DatabaseConnection.migrator().migrate(conn);
+
+        assertThat(queryInt("SELECT count(*) FROM person WHERE name_key IS NOT NULL AND phone_digits = '0456'")).isEqualTo(1);
+        assertThat(queryString("SELECT name_key FROM person WHERE nickname = 'EZ'"))
+            .isEqualTo(PersonDAOImpl.nameKey("Émile", "Zoé"));
+        assertThat(queryString("SELECT phone_digits || '/' || phone_rev FROM person WHERE nickname = 'JR'"))
+            .isEqualTo("555123412/214321555");
+        assertThat(queryString("SELECT group_concat(nickname || '=' || coalesce(birth_md, '-'), ',') FROM "
+                + "(SELECT nickname, birth_md FROM person WHERE birth_date IS NOT NULL ORDER BY idperson)"))
+            .isEqualTo("valid=05-15,invalid=-,text=-");
+    }
+
+    @Test
+    @DisplayName("Should roll back a failing migration and keep the ones before it")
+    void testFailedMigration() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(List.of(
+                SchemaMigrator.Migration.of("V1__create_item.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY);"),
+                SchemaMigrator.Migration.of("V2__broken.sql",
+                        "CREATE TABLE part (id INTEGER PRIMARY KEY);\nINSERT INTO missing VALUES (1);")));
+
+        assertThatThrownBy(() -> migrator.migrate(conn))
+            .isInstanceOf(SQLException.class)
+            .hasMessageContaining("V2");
+        assertThat(queryInt("SELECT max(version) FROM schema_version")).isEqualTo(1);
+        assertThat(queryInt("SELECT count(*) FROM sqlite_master WHERE name = 'part'")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse a migration changed after it was applied")
+    void testChecksumMismatch() throws SQLException {
+        new SchemaMigrator(List.of(SchemaMigrator.Migration.of("V1__create_item.sql",
+                "CREATE TABLE item (id INTEGER PRIMARY KEY);"))).migrate(conn);
+
+        SchemaMigrator edited = new SchemaMigrator(List.of(SchemaMigrator.Migration.of("V1__create_item.sql",
+                "CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT);")));
+        assertThatThrownBy(() -> edited.migrate(conn))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("changed after it was applied");
+        assertThatThrownBy(() -> new SchemaMigrator(List.of()).migrate(conn))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("newer");
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}